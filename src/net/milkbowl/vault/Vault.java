@@ -15,12 +15,24 @@
  */
 package net.milkbowl.vault;
 
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.logging.Logger;
 
 import net.milkbowl.vault.chat.Chat;
 import net.milkbowl.vault.chat.plugins.Chat_PermissionsEx;
+import net.milkbowl.vault.economy.AbstractEconomy;
+import net.milkbowl.vault.economy.CachedEconomy;
 import net.milkbowl.vault.economy.Economy;
 import net.milkbowl.vault.economy.plugins.Economy_Essentials;
+import net.milkbowl.vault.item.AliasFileWatcher;
+import net.milkbowl.vault.item.ItemCatalog;
+import net.milkbowl.vault.item.Items;
 import net.milkbowl.vault.permission.Permission;
 import net.milkbowl.vault.permission.plugins.Permission_PermissionsEx;
 
@@ -35,20 +47,88 @@ public class Vault extends JavaPlugin {
     private static Logger log;
     private Permission perms;
     private ServicesManager sm;
+    private AliasFileWatcher aliasWatcher;
+    private ExecutorService economyExecutor;
     
     public void onDisable() {
         // Remove all Service Registrations
         getServer().getServicesManager().unregisterAll(this);
         Bukkit.getScheduler().cancelTasks(this);
+        if (aliasWatcher != null) {
+            aliasWatcher.close();
+            aliasWatcher = null;
+        }
+        stopEconomyExecutor();
     }
 
     public void onEnable() {
         log = this.getLogger();
         sm = getServer().getServicesManager();
+        saveDefaultConfig();
+        startEconomyExecutor();
         // Load Vault Addons
         loadEconomy();
         loadPermission();
         loadChat();
+        loadItems();
+        loadItemLocales();
+        watchAliases();
+    }
+
+    /**
+     * Replaces the bundled item catalog with items.dat from the data folder, if
+     * the server owner has provided one
+     */
+    private void loadItems() {
+        File catalog = new File(getDataFolder(), ItemCatalog.FILE_NAME);
+        if (!catalog.isFile()) {
+            return;
+        }
+        try {
+            Items.loadCatalog(catalog);
+            log.info(String.format("[Items] Loaded %d items from %s", Items.getItemList().size(), catalog.getPath()));
+        } catch (IOException e) {
+            log.severe(String.format("[Items] Could not load %s, using the bundled catalog: %s", catalog.getPath(), e.getMessage()));
+        }
+    }
+
+    /**
+     * Loads translated item names from the locales folder in the data folder,
+     * one file per locale such as locales/de_de.txt
+     */
+    private void loadItemLocales() {
+        File[] files = new File(getDataFolder(), "locales").listFiles();
+        if (files == null) {
+            return;
+        }
+        for (File file : files) {
+            String name = file.getName();
+            if (!file.isFile() || !name.endsWith(".txt")) {
+                continue;
+            }
+            String locale = name.substring(0, name.length() - 4);
+            try {
+                int count = Items.loadLocaleNames(locale, file);
+                log.info(String.format("[Items] Loaded %d %s item names", count, locale));
+            } catch (IOException e) {
+                log.severe(String.format("[Items] Could not load %s: %s", file.getPath(), e.getMessage()));
+            }
+        }
+    }
+
+    /**
+     * Watches aliases.txt in the data folder, so server owners can add item
+     * aliases without a restart
+     */
+    private void watchAliases() {
+        File aliases = new File(getDataFolder(), AliasFileWatcher.FILE_NAME);
+        try {
+            getDataFolder().mkdirs();
+            aliasWatcher = new AliasFileWatcher(aliases, log);
+            aliasWatcher.start();
+        } catch (IOException e) {
+            log.severe(String.format("[Items] Could not watch %s for aliases: %s", aliases.getPath(), e.getMessage()));
+        }
     }
 
     /**
@@ -59,6 +139,45 @@ public class Vault extends JavaPlugin {
         hookChat("PermissionsEx", Chat_PermissionsEx.class, ServicePriority.Highest, "ru.tehkode.permissions.bukkit.PermissionsEx");
     }
 
+    /**
+     * Starts the threads that run the async Economy methods, so provider calls
+     * that touch the disk stay off the main thread. A single thread, the
+     * default, also keeps transactions in the order they were submitted.
+     */
+    private void startEconomyExecutor() {
+        int threads = Math.max(1, getConfig().getInt("economy.async-threads", 1));
+        economyExecutor = Executors.newFixedThreadPool(threads, new ThreadFactory() {
+            private final AtomicInteger count = new AtomicInteger();
+
+            public Thread newThread(Runnable runnable) {
+                Thread thread = new Thread(runnable, "Vault economy " + count.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+        AbstractEconomy.setAsyncExecutor(economyExecutor);
+    }
+
+    /**
+     * Lets queued transactions finish before the providers go away
+     */
+    private void stopEconomyExecutor() {
+        if (economyExecutor == null) {
+            return;
+        }
+        AbstractEconomy.setAsyncExecutor(null);
+        economyExecutor.shutdown();
+        try {
+            if (!economyExecutor.awaitTermination(5, TimeUnit.SECONDS)) {
+                log.warning(String.format("[Economy] Dropped %d queued async transactions on disable", economyExecutor.shutdownNow().size()));
+            }
+        } catch (InterruptedException e) {
+            economyExecutor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+        economyExecutor = null;
+    }
+
     /**
      * Attempts to load Economy Addons
      */
@@ -97,6 +216,10 @@ public class Vault extends JavaPlugin {
         try {
             if (packagesExists(packages)) {
                 Economy econ = hookClass.getConstructor(Plugin.class).newInstance(this);
+                long cacheMillis = getConfig().getLong("economy.balance-cache-millis", 1000L);
+                if (cacheMillis > 0) {
+                    econ = new CachedEconomy(econ, cacheMillis);
+                }
                 sm.register(Economy.class, econ, this, priority);
                 log.info(String.format("[Economy] %s found: %s", name, econ.isEnabled() ? "Loaded" : "Waiting"));
             }
@@ -91,14 +91,16 @@ public class VaultEco {
         }
 
         public boolean set(double amount) {
-            if(!this.economy.withdrawPlayer(getName(), this.balance()).transactionSuccess()) {
-                return false;
+            // Move only the difference, so the account is never emptied
+            // part way through
+            double difference = amount - this.balance();
+            if (difference > 0) {
+                return this.economy.depositPlayer(getName(), difference).transactionSuccess();
             }
-
-            if(amount == 0) {
-                return true;
+            if (difference < 0) {
+                return this.economy.withdrawPlayer(getName(), -difference).transactionSuccess();
             }
-            return this.economy.depositPlayer(getName(), amount).transactionSuccess();
+            return true;
         }
 
         public boolean add(double amount) {
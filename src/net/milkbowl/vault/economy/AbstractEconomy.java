@@ -1,10 +1,26 @@
 package net.milkbowl.vault.economy;
 
+import java.util.concurrent.Executor;
 import org.bukkit.OfflinePlayer;
 
 public abstract class AbstractEconomy
   implements Economy
 {
+  /**
+   * Sets the executor the async methods run on. Vault installs its own when
+   * it is enabled and removes it when disabled.
+   * @param executor executor to use, or null for the common fork-join pool
+   */
+  public static void setAsyncExecutor(Executor executor)
+  {
+    EconomySupport.setAsyncExecutor(executor);
+  }
+  
+  public static Executor getAsyncExecutor()
+  {
+    return EconomySupport.getAsyncExecutor();
+  }
+  
   public boolean hasAccount(OfflinePlayer player)
   {
     return hasAccount(player.getName());
@@ -55,6 +71,21 @@ public abstract class AbstractEconomy
     return depositPlayer(player.getName(), worldName, amount);
   }
   
+  public int withdrawPlayer(OfflinePlayer player, double amount, TransactionResult result)
+  {
+    return withdrawPlayer(player.getName(), amount, result);
+  }
+  
+  public int depositPlayer(OfflinePlayer player, double amount, TransactionResult result)
+  {
+    return depositPlayer(player.getName(), amount, result);
+  }
+  
+  public EconomyResponse transfer(OfflinePlayer from, OfflinePlayer to, double amount)
+  {
+    return transfer(from.getName(), to.getName(), amount);
+  }
+  
   public EconomyResponse createBank(String name, OfflinePlayer player)
   {
     return createBank(name, player.getName());
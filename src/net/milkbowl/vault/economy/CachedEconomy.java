@@ -0,0 +1,482 @@
+package net.milkbowl.vault.economy;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.bukkit.OfflinePlayer;
+
+/**
+ * Read-through balance cache in front of another Economy. Balances are kept
+ * per account for a fixed time, and has() is answered from the same entries
+ * while one is fresh. A has() miss asks the provider's own has(), since
+ * reading a balance can have side effects such as creating the account.
+ * Any deposit or withdraw made through this economy drops the account's
+ * entry, so Vault's own transactions are visible at once; changes made
+ * behind Vault's back show up once the entry expires.
+ * <p>
+ * Only the balance of the default world is cached. Per-world calls go
+ * straight to the provider, as do players without a name. Expired entries
+ * are swept out at most once per cache lifetime, so the map only holds the
+ * accounts read recently.
+ */
+public class CachedEconomy
+  extends AbstractEconomy
+{
+  private static final class Entry
+  {
+    final double balance;
+    final long expires;
+
+    Entry(double balance, long expires)
+    {
+      this.balance = balance;
+      this.expires = expires;
+    }
+  }
+
+  private final Economy economy;
+  private final long ttlNanos;
+  private final ConcurrentMap<String, Entry> entries = new ConcurrentHashMap<String, Entry>();
+  // Bumped by every transaction, so a read that overlapped one is not kept
+  private final AtomicLong transactions = new AtomicLong();
+  private volatile long nextSweep;
+
+  /**
+   * @param economy provider to cache
+   * @param ttlMillis how long a balance is served before it is read again
+   */
+  public CachedEconomy(Economy economy, long ttlMillis)
+  {
+    this.economy = economy;
+    this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttlMillis);
+    this.nextSweep = System.nanoTime() + this.ttlNanos;
+  }
+
+  /**
+   * @return the provider behind the cache
+   */
+  public Economy getEconomy()
+  {
+    return this.economy;
+  }
+
+  /**
+   * Drops every cached balance, for when balances were changed directly in
+   * the provider.
+   */
+  public void invalidateAll()
+  {
+    this.transactions.incrementAndGet();
+    this.entries.clear();
+  }
+
+  /**
+   * Drops the cached balance of one account. A null name drops them all,
+   * since the account's entry cannot be told apart.
+   */
+  public void invalidate(String playerName)
+  {
+    if (playerName == null)
+    {
+      invalidateAll();
+      return;
+    }
+    this.transactions.incrementAndGet();
+    this.entries.remove(playerName);
+  }
+
+  private void invalidate(OfflinePlayer player)
+  {
+    invalidate(player == null ? null : player.getName());
+  }
+
+  /**
+   * @return the balance still fresh at now, or null if it must be read
+   */
+  private Entry cached(String playerName, long now)
+  {
+    Entry entry = this.entries.get(playerName);
+    return (entry != null) && (entry.expires - now > 0L) ? entry : null;
+  }
+
+  /**
+   * Keeps a balance read at now, unless a transaction overlapped the read.
+   * @param stamp transaction count taken before the read
+   */
+  private double store(String playerName, long stamp, long now, double balance)
+  {
+    Entry entry = new Entry(balance, now + this.ttlNanos);
+    this.entries.put(playerName, entry);
+    // A transaction may have dropped the entry before it was put
+    if (this.transactions.get() != stamp) {
+      this.entries.remove(playerName, entry);
+    }
+    if (now - this.nextSweep >= 0L)
+    {
+      this.nextSweep = now + this.ttlNanos;
+      for (Iterator<Entry> i = this.entries.values().iterator(); i.hasNext();) {
+        if (i.next().expires - now <= 0L) {
+          i.remove();
+        }
+      }
+    }
+    return balance;
+  }
+
+  private EconomyResponse transacted(String playerName, EconomyResponse response)
+  {
+    invalidate(playerName);
+    return response;
+  }
+
+  private EconomyResponse transacted(OfflinePlayer player, EconomyResponse response)
+  {
+    invalidate(player);
+    return response;
+  }
+
+  private EconomyBatchResponse transacted(EconomyBatchResponse responses)
+  {
+    for (int i = 0; i < responses.size(); i++) {
+      invalidate(responses.getPlayer(i));
+    }
+    return responses;
+  }
+
+  public boolean isEnabled()
+  {
+    return this.economy.isEnabled();
+  }
+
+  public String getName()
+  {
+    return this.economy.getName();
+  }
+
+  public boolean hasBankSupport()
+  {
+    return this.economy.hasBankSupport();
+  }
+
+  public int fractionalDigits()
+  {
+    return this.economy.fractionalDigits();
+  }
+
+  public String format(double amount)
+  {
+    return this.economy.format(amount);
+  }
+
+  public String currencyNamePlural()
+  {
+    return this.economy.currencyNamePlural();
+  }
+
+  public String currencyNameSingular()
+  {
+    return this.economy.currencyNameSingular();
+  }
+
+  @Deprecated
+  public boolean hasAccount(String playerName)
+  {
+    return this.economy.hasAccount(playerName);
+  }
+
+  public boolean hasAccount(OfflinePlayer player)
+  {
+    return this.economy.hasAccount(player);
+  }
+
+  @Deprecated
+  public boolean hasAccount(String playerName, String worldName)
+  {
+    return this.economy.hasAccount(playerName, worldName);
+  }
+
+  public boolean hasAccount(OfflinePlayer player, String worldName)
+  {
+    return this.economy.hasAccount(player, worldName);
+  }
+
+  @Deprecated
+  public double getBalance(String playerName)
+  {
+    if (playerName == null) {
+      return this.economy.getBalance(playerName);
+    }
+    long now = System.nanoTime();
+    Entry entry = cached(playerName, now);
+    if (entry != null) {
+      return entry.balance;
+    }
+    long stamp = this.transactions.get();
+    return store(playerName, stamp, now, this.economy.getBalance(playerName));
+  }
+
+  public double getBalance(OfflinePlayer player)
+  {
+    String playerName = player.getName();
+    if (playerName == null) {
+      return this.economy.getBalance(player);
+    }
+    long now = System.nanoTime();
+    Entry entry = cached(playerName, now);
+    if (entry != null) {
+      return entry.balance;
+    }
+    long stamp = this.transactions.get();
+    return store(playerName, stamp, now, this.economy.getBalance(player));
+  }
+
+  @Deprecated
+  public double getBalance(String playerName, String world)
+  {
+    return this.economy.getBalance(playerName, world);
+  }
+
+  public double getBalance(OfflinePlayer player, String world)
+  {
+    return this.economy.getBalance(player, world);
+  }
+
+  @Deprecated
+  public boolean has(String playerName, double amount)
+  {
+    Entry entry = playerName == null ? null : cached(playerName, System.nanoTime());
+    return entry != null ? entry.balance >= amount : this.economy.has(playerName, amount);
+  }
+
+  public boolean has(OfflinePlayer player, double amount)
+  {
+    String playerName = player.getName();
+    Entry entry = playerName == null ? null : cached(playerName, System.nanoTime());
+    return entry != null ? entry.balance >= amount : this.economy.has(player, amount);
+  }
+
+  @Deprecated
+  public boolean has(String playerName, String worldName, double amount)
+  {
+    return this.economy.has(playerName, worldName, amount);
+  }
+
+  public boolean has(OfflinePlayer player, String worldName, double amount)
+  {
+    return this.economy.has(player, worldName, amount);
+  }
+
+  @Deprecated
+  public EconomyResponse withdrawPlayer(String playerName, double amount)
+  {
+    return transacted(playerName, this.economy.withdrawPlayer(playerName, amount));
+  }
+
+  public EconomyResponse withdrawPlayer(OfflinePlayer player, double amount)
+  {
+    return transacted(player, this.economy.withdrawPlayer(player, amount));
+  }
+
+  @Deprecated
+  public EconomyResponse withdrawPlayer(String playerName, String worldName, double amount)
+  {
+    return transacted(playerName, this.economy.withdrawPlayer(playerName, worldName, amount));
+  }
+
+  public EconomyResponse withdrawPlayer(OfflinePlayer player, String worldName, double amount)
+  {
+    return transacted(player, this.economy.withdrawPlayer(player, worldName, amount));
+  }
+
+  @Deprecated
+  public EconomyResponse depositPlayer(String playerName, double amount)
+  {
+    return transacted(playerName, this.economy.depositPlayer(playerName, amount));
+  }
+
+  public EconomyResponse depositPlayer(OfflinePlayer player, double amount)
+  {
+    return transacted(player, this.economy.depositPlayer(player, amount));
+  }
+
+  @Deprecated
+  public EconomyResponse depositPlayer(String playerName, String worldName, double amount)
+  {
+    return transacted(playerName, this.economy.depositPlayer(playerName, worldName, amount));
+  }
+
+  public EconomyResponse depositPlayer(OfflinePlayer player, String worldName, double amount)
+  {
+    return transacted(player, this.economy.depositPlayer(player, worldName, amount));
+  }
+
+  public FixedPointResponse withdrawPlayerMinor(OfflinePlayer player, long amount)
+  {
+    FixedPointResponse response = this.economy.withdrawPlayerMinor(player, amount);
+    invalidate(player);
+    return response;
+  }
+
+  public FixedPointResponse depositPlayerMinor(OfflinePlayer player, long amount)
+  {
+    FixedPointResponse response = this.economy.depositPlayerMinor(player, amount);
+    invalidate(player);
+    return response;
+  }
+
+  @Deprecated
+  public int withdrawPlayer(String playerName, double amount, TransactionResult result)
+  {
+    int status = this.economy.withdrawPlayer(playerName, amount, result);
+    invalidate(playerName);
+    return status;
+  }
+
+  public int withdrawPlayer(OfflinePlayer player, double amount, TransactionResult result)
+  {
+    int status = this.economy.withdrawPlayer(player, amount, result);
+    invalidate(player);
+    return status;
+  }
+
+  @Deprecated
+  public int depositPlayer(String playerName, double amount, TransactionResult result)
+  {
+    int status = this.economy.depositPlayer(playerName, amount, result);
+    invalidate(playerName);
+    return status;
+  }
+
+  public int depositPlayer(OfflinePlayer player, double amount, TransactionResult result)
+  {
+    int status = this.economy.depositPlayer(player, amount, result);
+    invalidate(player);
+    return status;
+  }
+
+  @Deprecated
+  public EconomyResponse transfer(String fromName, String toName, double amount)
+  {
+    EconomyResponse response = this.economy.transfer(fromName, toName, amount);
+    invalidate(toName);
+    return transacted(fromName, response);
+  }
+
+  public EconomyResponse transfer(OfflinePlayer from, OfflinePlayer to, double amount)
+  {
+    EconomyResponse response = this.economy.transfer(from, to, amount);
+    invalidate(to);
+    return transacted(from, response);
+  }
+
+  public EconomyBatchResponse depositPlayers(Map<OfflinePlayer, Double> amounts)
+  {
+    return transacted(this.economy.depositPlayers(amounts));
+  }
+
+  public EconomyBatchResponse withdrawPlayers(Map<OfflinePlayer, Double> amounts)
+  {
+    return transacted(this.economy.withdrawPlayers(amounts));
+  }
+
+  @Deprecated
+  public EconomyResponse createBank(String name, String player)
+  {
+    return this.economy.createBank(name, player);
+  }
+
+  public EconomyResponse createBank(String name, OfflinePlayer player)
+  {
+    return this.economy.createBank(name, player);
+  }
+
+  public EconomyResponse deleteBank(String name)
+  {
+    return this.economy.deleteBank(name);
+  }
+
+  public EconomyResponse bankBalance(String name)
+  {
+    return this.economy.bankBalance(name);
+  }
+
+  public EconomyResponse bankHas(String name, double amount)
+  {
+    return this.economy.bankHas(name, amount);
+  }
+
+  public EconomyResponse bankWithdraw(String name, double amount)
+  {
+    return this.economy.bankWithdraw(name, amount);
+  }
+
+  public EconomyResponse bankDeposit(String name, double amount)
+  {
+    return this.economy.bankDeposit(name, amount);
+  }
+
+  @Deprecated
+  public EconomyResponse isBankOwner(String name, String playerName)
+  {
+    return this.economy.isBankOwner(name, playerName);
+  }
+
+  public EconomyResponse isBankOwner(String name, OfflinePlayer player)
+  {
+    return this.economy.isBankOwner(name, player);
+  }
+
+  @Deprecated
+  public EconomyResponse isBankMember(String name, String playerName)
+  {
+    return this.economy.isBankMember(name, playerName);
+  }
+
+  public EconomyResponse isBankMember(String name, OfflinePlayer player)
+  {
+    return this.economy.isBankMember(name, player);
+  }
+
+  public List<String> getBanks()
+  {
+    return this.economy.getBanks();
+  }
+
+  @Deprecated
+  public boolean createPlayerAccount(String playerName)
+  {
+    // New accounts may start with a balance
+    boolean created = this.economy.createPlayerAccount(playerName);
+    invalidate(playerName);
+    return created;
+  }
+
+  public boolean createPlayerAccount(OfflinePlayer player)
+  {
+    // New accounts may start with a balance
+    boolean created = this.economy.createPlayerAccount(player);
+    invalidate(player);
+    return created;
+  }
+
+  @Deprecated
+  public boolean createPlayerAccount(String playerName, String worldName)
+  {
+    // New accounts may start with a balance
+    boolean created = this.economy.createPlayerAccount(playerName, worldName);
+    invalidate(playerName);
+    return created;
+  }
+
+  public boolean createPlayerAccount(OfflinePlayer player, String worldName)
+  {
+    // New accounts may start with a balance
+    boolean created = this.economy.createPlayerAccount(player, worldName);
+    invalidate(player);
+    return created;
+  }
+}
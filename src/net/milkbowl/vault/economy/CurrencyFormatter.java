@@ -0,0 +1,179 @@
+package net.milkbowl.vault.economy;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Formats money amounts from a pattern worked out once: a prefix such as the
+ * currency symbol, a fixed number of fraction digits, an optional currency
+ * name and a suffix. Digits are written straight into a StringBuilder from the amount in
+ * minor units, with no DecimalFormat or locale lookups, and recently
+ * formatted amounts are kept in a small cache, since a shop screen shows the
+ * same few prices over and over.
+ */
+public class CurrencyFormatter
+{
+  private static final int CACHE_SIZE = 256;
+  // Beyond this the spacing between doubles starts to show in the digits,
+  // and DecimalFormat's rounding of the shortest decimal can differ from
+  // rounding the exact value, so larger amounts take the BigDecimal path
+  private static final double MAX_EXACT = 1.0E13D;
+  private static final BigDecimal HALF = new BigDecimal("0.5");
+
+  private static final class Entry
+  {
+    final long bits;
+    final String text;
+
+    Entry(long bits, String text)
+    {
+      this.bits = bits;
+      this.text = text;
+    }
+  }
+
+  private final int digits;
+  private final long scale;
+  private final String symbol;
+  private final String suffix;
+  private final String singular;
+  private final String plural;
+  private final boolean trimZeroFraction;
+  private final Entry[] cache = new Entry[CACHE_SIZE];
+
+  /**
+   * @param fractionalDigits digits after the decimal point, -1 for the
+   *        MinorUnits default
+   * @param symbol written before the amount, such as "$"; may be empty
+   * @param singular currency name written after an amount of exactly one;
+   *        may be empty for none
+   * @param plural currency name written after any other amount
+   * @param trimZeroFraction leave out the fraction when it is all zeros, so
+   *        12.00 shows as 12
+   */
+  public CurrencyFormatter(int fractionalDigits, String symbol, String singular, String plural, boolean trimZeroFraction)
+  {
+    this(fractionalDigits, symbol, "", singular, plural, trimZeroFraction);
+  }
+
+  /**
+   * @param prefix written before the amount, such as "$"; may be empty
+   * @param suffix written after the amount and currency name, such as
+   *        " EUR"; may be empty
+   * @see #CurrencyFormatter(int, String, String, String, boolean)
+   */
+  public CurrencyFormatter(int fractionalDigits, String prefix, String suffix, String singular, String plural, boolean trimZeroFraction)
+  {
+    this.digits = MinorUnits.digits(fractionalDigits);
+    this.scale = MinorUnits.scale(this.digits);
+    this.symbol = prefix == null ? "" : prefix;
+    this.suffix = suffix == null ? "" : suffix;
+    this.singular = singular == null ? "" : singular;
+    this.plural = plural == null ? "" : plural;
+    this.trimZeroFraction = trimZeroFraction;
+  }
+
+  /**
+   * Builds the pattern from an economy's own precision and currency names.
+   */
+  public CurrencyFormatter(Economy economy, String symbol)
+  {
+    this(economy.fractionalDigits(), symbol, economy.currencyNameSingular(), economy.currencyNamePlural(), false);
+  }
+
+  /**
+   * @return the formatted amount, from the cache when it was formatted
+   *         recently
+   */
+  public String format(double amount)
+  {
+    long bits = Double.doubleToLongBits(amount);
+    // The top eight bits of the hash pick one of the 256 slots
+    int slot = (int)(bits ^ bits >>> 32) * 0x9E3779B9 >>> 24;
+    Entry entry = this.cache[slot];
+    if ((entry != null) && (entry.bits == bits)) {
+      return entry.text;
+    }
+    String text = format(amount, new StringBuilder(this.symbol.length() + this.suffix.length() + 24)).toString();
+    // Entries are immutable, so a racing reader sees an old or a new one
+    this.cache[slot] = new Entry(bits, text);
+    return text;
+  }
+
+  /**
+   * Appends the formatted amount without allocating, for callers that build
+   * many prices into one line or reuse a builder.
+   * @return out
+   */
+  public StringBuilder format(double amount, StringBuilder out)
+  {
+    out.append(this.symbol);
+    double raw = amount * this.scale;
+    // rint rounds half to even, as DecimalFormat does
+    double scaled = Math.rint(raw);
+    if ((Double.isNaN(scaled)) || (Math.abs(scaled) >= MAX_EXACT))
+    {
+      if (Double.isNaN(amount) || Double.isInfinite(amount)) {
+        out.append(amount);
+      }
+      else
+      {
+        // DecimalFormat rounds the shortest decimal that reads back as the
+        // amount, going to the exact binary value only to settle a tie
+        BigDecimal shortest = BigDecimal.valueOf(amount);
+        BigDecimal rounded = shortest.setScale(this.digits, RoundingMode.HALF_EVEN);
+        if (shortest.subtract(rounded).abs().movePointRight(this.digits).compareTo(HALF) == 0) {
+          rounded = new BigDecimal(amount).setScale(this.digits, RoundingMode.HALF_EVEN);
+        }
+        if ((this.trimZeroFraction) && (rounded.remainder(BigDecimal.ONE).signum() == 0)) {
+          rounded = rounded.setScale(0);
+        }
+        out.append(rounded.toPlainString());
+      }
+      return appendName(out, false);
+    }
+    long minor = (long)scaled;
+    // The multiplication can land on or next to a tie the exact amount is
+    // not on, such as 974.415 which is really 974.41499...; settle those
+    // rare cases on the exact binary value like DecimalFormat does
+    if (Math.abs(Math.abs(raw - Math.floor(raw)) - 0.5D) <= 2.0D * Math.ulp(raw)) {
+      minor = new BigDecimal(amount).setScale(this.digits, RoundingMode.HALF_EVEN).unscaledValue().longValue();
+    }
+    // Like DecimalFormat, keep the sign of a negative amount that rounds to
+    // zero, and of -0.0 itself
+    if ((amount < 0.0D) || ((amount == 0.0D) && (1.0D / amount < 0.0D)))
+    {
+      out.append('-');
+      minor = -minor;
+    }
+    out.append(minor / this.scale);
+    long fraction = minor % this.scale;
+    if ((this.digits > 0) && ((fraction != 0L) || (!this.trimZeroFraction)))
+    {
+      out.append('.');
+      for (long place = this.scale / 10L; place > 0L; place /= 10L) {
+        out.append((char)('0' + fraction / place % 10L));
+      }
+    }
+    return appendName(out, (minor == this.scale) && (amount > 0.0D));
+  }
+
+  private StringBuilder appendName(StringBuilder out, boolean one)
+  {
+    String name = one ? this.singular : this.plural;
+    if (name.length() > 0) {
+      out.append(' ').append(name);
+    }
+    return out.append(this.suffix);
+  }
+
+  /**
+   * Drops the cached amounts.
+   */
+  public void clear()
+  {
+    for (int i = 0; i < this.cache.length; i++) {
+      this.cache[i] = null;
+    }
+  }
+}
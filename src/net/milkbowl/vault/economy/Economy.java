@@ -1,6 +1,9 @@
 package net.milkbowl.vault.economy;
 
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
 import org.bukkit.OfflinePlayer;
 
 public abstract interface Economy
@@ -69,6 +72,189 @@ public abstract interface Economy
   
   public abstract EconomyResponse depositPlayer(OfflinePlayer paramOfflinePlayer, String paramString, double paramDouble);
   
+  /**
+   * Fixed-point balance, in minor units of MinorUnits.digits(this), such as
+   * cents for an economy with two fractional digits. The default converts
+   * from the double balance; providers that keep exact amounts should
+   * override the fixed-point methods to skip the conversion.
+   */
+  public default long getBalanceMinor(OfflinePlayer player)
+  {
+    return MinorUnits.toMinor(getBalance(player), MinorUnits.digits(this));
+  }
+  
+  public default boolean hasMinor(OfflinePlayer player, long amount)
+  {
+    return getBalanceMinor(player) >= amount;
+  }
+  
+  public default FixedPointResponse withdrawPlayerMinor(OfflinePlayer player, long amount)
+  {
+    int digits = MinorUnits.digits(this);
+    return new FixedPointResponse(withdrawPlayer(player, MinorUnits.toMajor(amount, digits)), digits);
+  }
+  
+  public default FixedPointResponse depositPlayerMinor(OfflinePlayer player, long amount)
+  {
+    int digits = MinorUnits.digits(this);
+    return new FixedPointResponse(depositPlayer(player, MinorUnits.toMajor(amount, digits)), digits);
+  }
+  
+  /**
+   * Garbage-free withdraw for high-frequency callers: the outcome is written
+   * into a caller-owned holder instead of a new EconomyResponse. The default
+   * copies the regular withdraw's response; providers should override it to
+   * fill the holder directly.
+   * @return the status code, EconomyResponse.ResponseType.getId() of the type
+   */
+  @Deprecated
+  public default int withdrawPlayer(String playerName, double amount, TransactionResult result)
+  {
+    return result.set(withdrawPlayer(playerName, amount));
+  }
+  
+  public default int withdrawPlayer(OfflinePlayer player, double amount, TransactionResult result)
+  {
+    return result.set(withdrawPlayer(player, amount));
+  }
+  
+  @Deprecated
+  public default int depositPlayer(String playerName, double amount, TransactionResult result)
+  {
+    return result.set(depositPlayer(playerName, amount));
+  }
+  
+  public default int depositPlayer(OfflinePlayer player, double amount, TransactionResult result)
+  {
+    return result.set(depositPlayer(player, amount));
+  }
+  
+  /**
+   * Moves money from one account to another as a single operation. If the
+   * deposit fails after the withdraw went through, the withdraw is undone,
+   * so money is never lost or created. The default withdraws, deposits and
+   * refunds as separate steps; providers with a native transfer should
+   * override it.
+   * @return the outcome, with the amount moved and the payer's new balance
+   */
+  @Deprecated
+  public default EconomyResponse transfer(String fromName, String toName, double amount)
+  {
+    if (amount < 0.0D) {
+      return new EconomyResponse(0.0D, 0.0D, EconomyResponse.ResponseType.FAILURE, "Cannot transfer negative funds");
+    }
+    EconomyResponse withdraw = withdrawPlayer(fromName, amount);
+    if (!withdraw.transactionSuccess()) {
+      return withdraw;
+    }
+    EconomyResponse deposit = depositPlayer(toName, amount);
+    if (deposit.transactionSuccess()) {
+      return withdraw;
+    }
+    EconomyResponse refund = depositPlayer(fromName, amount);
+    if (!refund.transactionSuccess()) {
+      return EconomySupport.refundFailed(fromName, toName, amount, withdraw, deposit, refund);
+    }
+    return new EconomyResponse(0.0D, refund.balance, EconomyResponse.ResponseType.FAILURE, deposit.errorMessage);
+  }
+  
+  public default EconomyResponse transfer(OfflinePlayer from, OfflinePlayer to, double amount)
+  {
+    if (amount < 0.0D) {
+      return new EconomyResponse(0.0D, 0.0D, EconomyResponse.ResponseType.FAILURE, "Cannot transfer negative funds");
+    }
+    EconomyResponse withdraw = withdrawPlayer(from, amount);
+    if (!withdraw.transactionSuccess()) {
+      return withdraw;
+    }
+    EconomyResponse deposit = depositPlayer(to, amount);
+    if (deposit.transactionSuccess()) {
+      return withdraw;
+    }
+    EconomyResponse refund = depositPlayer(from, amount);
+    if (!refund.transactionSuccess()) {
+      return EconomySupport.refundFailed(from.getName(), to.getName(), amount, withdraw, deposit, refund);
+    }
+    return new EconomyResponse(0.0D, refund.balance, EconomyResponse.ResponseType.FAILURE, deposit.errorMessage);
+  }
+  
+  /**
+   * Deposits into many accounts in one call, such as a payroll run.
+   * Providers may implement this natively; the default deposits one account
+   * at a time through a single reused TransactionResult, so the batch
+   * allocates only its result container.
+   * @return one result per account, in the map's iteration order
+   */
+  public default EconomyBatchResponse depositPlayers(Map<OfflinePlayer, Double> amounts)
+  {
+    EconomyBatchResponse responses = new EconomyBatchResponse(amounts.size());
+    TransactionResult result = new TransactionResult();
+    int i = 0;
+    for (Map.Entry<OfflinePlayer, Double> entry : amounts.entrySet())
+    {
+      depositPlayer(entry.getKey(), entry.getValue().doubleValue(), result);
+      responses.set(i++, entry.getKey(), result);
+    }
+    return responses;
+  }
+  
+  public default EconomyBatchResponse withdrawPlayers(Map<OfflinePlayer, Double> amounts)
+  {
+    EconomyBatchResponse responses = new EconomyBatchResponse(amounts.size());
+    TransactionResult result = new TransactionResult();
+    int i = 0;
+    for (Map.Entry<OfflinePlayer, Double> entry : amounts.entrySet())
+    {
+      withdrawPlayer(entry.getKey(), entry.getValue().doubleValue(), result);
+      responses.set(i++, entry.getKey(), result);
+    }
+    return responses;
+  }
+  
+  /**
+   * Runs getBalance(OfflinePlayer) on Vault's economy executor, off the main
+   * thread.
+   */
+  public default CompletableFuture<Double> getBalanceAsync(final OfflinePlayer player)
+  {
+    return CompletableFuture.supplyAsync(new Supplier<Double>() {
+      public Double get()
+      {
+        return Double.valueOf(getBalance(player));
+      }
+    }, EconomySupport.getAsyncExecutor());
+  }
+  
+  public default CompletableFuture<Boolean> hasAsync(final OfflinePlayer player, final double amount)
+  {
+    return CompletableFuture.supplyAsync(new Supplier<Boolean>() {
+      public Boolean get()
+      {
+        return Boolean.valueOf(has(player, amount));
+      }
+    }, EconomySupport.getAsyncExecutor());
+  }
+  
+  public default CompletableFuture<EconomyResponse> withdrawPlayerAsync(final OfflinePlayer player, final double amount)
+  {
+    return CompletableFuture.supplyAsync(new Supplier<EconomyResponse>() {
+      public EconomyResponse get()
+      {
+        return withdrawPlayer(player, amount);
+      }
+    }, EconomySupport.getAsyncExecutor());
+  }
+  
+  public default CompletableFuture<EconomyResponse> depositPlayerAsync(final OfflinePlayer player, final double amount)
+  {
+    return CompletableFuture.supplyAsync(new Supplier<EconomyResponse>() {
+      public EconomyResponse get()
+      {
+        return depositPlayer(player, amount);
+      }
+    }, EconomySupport.getAsyncExecutor());
+  }
+  
   @Deprecated
   public abstract EconomyResponse createBank(String paramString1, String paramString2);
   
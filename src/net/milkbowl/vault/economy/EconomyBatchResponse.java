@@ -0,0 +1,111 @@
+package net.milkbowl.vault.economy;
+
+import net.milkbowl.vault.economy.EconomyResponse.ResponseType;
+import org.bukkit.OfflinePlayer;
+
+/**
+ * Results of a batch deposit or withdraw, one entry per account in the order
+ * the accounts were given. The entries are stored in parallel arrays, so a
+ * batch of any size is a single object rather than one EconomyResponse per
+ * account.
+ */
+public class EconomyBatchResponse
+{
+  private final OfflinePlayer[] players;
+  private final double[] amounts;
+  private final double[] balances;
+  private final ResponseType[] types;
+  private final String[] errorMessages;
+
+  public EconomyBatchResponse(int size)
+  {
+    this.players = new OfflinePlayer[size];
+    this.amounts = new double[size];
+    this.balances = new double[size];
+    this.types = new ResponseType[size];
+    this.errorMessages = new String[size];
+  }
+
+  /**
+   * Records the outcome for the account at index.
+   */
+  public void set(int index, OfflinePlayer player, double amount, double balance, ResponseType type, String errorMessage)
+  {
+    this.players[index] = player;
+    this.amounts[index] = amount;
+    this.balances[index] = balance;
+    this.types[index] = type;
+    this.errorMessages[index] = errorMessage;
+  }
+
+  public void set(int index, OfflinePlayer player, EconomyResponse response)
+  {
+    set(index, player, response.amount, response.balance, response.type, response.errorMessage);
+  }
+
+  public void set(int index, OfflinePlayer player, TransactionResult result)
+  {
+    set(index, player, result.getAmount(), result.getBalance(), result.getType(), result.getErrorMessage());
+  }
+
+  public int size()
+  {
+    return this.players.length;
+  }
+
+  public OfflinePlayer getPlayer(int index)
+  {
+    return this.players[index];
+  }
+
+  public double getAmount(int index)
+  {
+    return this.amounts[index];
+  }
+
+  /**
+   * @return the account's balance after the transaction, or NaN if the
+   *         provider did not read it back
+   */
+  public double getBalance(int index)
+  {
+    return this.balances[index];
+  }
+
+  public ResponseType getType(int index)
+  {
+    return this.types[index];
+  }
+
+  public String getErrorMessage(int index)
+  {
+    return this.errorMessages[index];
+  }
+
+  public boolean transactionSuccess(int index)
+  {
+    return this.types[index] == ResponseType.SUCCESS;
+  }
+
+  /**
+   * @return number of accounts whose transaction did not succeed
+   */
+  public int getFailureCount()
+  {
+    int failures = 0;
+    for (ResponseType type : this.types) {
+      if (type != ResponseType.SUCCESS) {
+        failures++;
+      }
+    }
+    return failures;
+  }
+
+  /**
+   * @return the entry at index as a standalone response
+   */
+  public EconomyResponse getResponse(int index)
+  {
+    return new EconomyResponse(this.amounts[index], this.balances[index], this.types[index], this.errorMessages[index]);
+  }
+}
@@ -18,7 +18,10 @@ public class EconomyResponse
       this.id = id;
     }
     
-    int getId()
+    /**
+     * @return the status code the primitive transaction methods return
+     */
+    public int getId()
     {
       return this.id;
     }
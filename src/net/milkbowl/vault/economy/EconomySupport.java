@@ -0,0 +1,47 @@
+package net.milkbowl.vault.economy;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.logging.Logger;
+
+/**
+ * State and helpers shared by the default methods of Economy, kept here so
+ * the interface does not depend on any of its implementations.
+ */
+final class EconomySupport
+{
+  private static final Logger log = Logger.getLogger("Minecraft");
+  private static volatile Executor asyncExecutor = null;
+
+  private EconomySupport()
+  {
+  }
+
+  static void setAsyncExecutor(Executor executor)
+  {
+    asyncExecutor = executor;
+  }
+
+  /**
+   * @return the executor the async methods run on, or the common fork-join
+   *         pool while Vault has not installed one
+   */
+  static Executor getAsyncExecutor()
+  {
+    Executor executor = asyncExecutor;
+    return executor != null ? executor : ForkJoinPool.commonPool();
+  }
+
+  /**
+   * Reports a transfer whose deposit failed and whose refund to the payer
+   * failed too. The money has left the payer and reached nobody, so this is
+   * logged for the server owner to put right by hand.
+   */
+  static EconomyResponse refundFailed(String fromName, String toName, double amount, EconomyResponse withdraw, EconomyResponse deposit, EconomyResponse refund)
+  {
+    String message = String.format("Transfer of %s from %s to %s failed (%s) and the refund to %s also failed (%s)",
+      Double.valueOf(amount), fromName, toName, deposit.errorMessage, fromName, refund.errorMessage);
+    log.severe("[Economy] " + message + "; the amount is lost and must be restored by hand");
+    return new EconomyResponse(0.0D, withdraw.balance, EconomyResponse.ResponseType.FAILURE, message);
+  }
+}
@@ -0,0 +1,48 @@
+package net.milkbowl.vault.economy;
+
+import net.milkbowl.vault.economy.EconomyResponse.ResponseType;
+
+/**
+ * EconomyResponse with the amount and balance in minor units, as returned by
+ * the fixed-point Economy methods.
+ */
+public class FixedPointResponse
+{
+  public final long amount;
+  public final long balance;
+  public final int digits;
+  public final ResponseType type;
+  public final String errorMessage;
+  
+  /**
+   * @param amount amount moved, in minor units
+   * @param balance new balance, in minor units
+   * @param digits decimal places the minor units stand for
+   */
+  public FixedPointResponse(long amount, long balance, int digits, ResponseType type, String errorMessage)
+  {
+    this.amount = amount;
+    this.balance = balance;
+    this.digits = digits;
+    this.type = type;
+    this.errorMessage = errorMessage;
+  }
+  
+  /**
+   * Converts a double response, rounding to the nearest minor unit.
+   */
+  public FixedPointResponse(EconomyResponse response, int digits)
+  {
+    this(MinorUnits.toMinor(response.amount, digits), MinorUnits.toMinor(response.balance, digits), digits, response.type, response.errorMessage);
+  }
+  
+  public boolean transactionSuccess()
+  {
+    return this.type == ResponseType.SUCCESS;
+  }
+  
+  public EconomyResponse toResponse()
+  {
+    return new EconomyResponse(MinorUnits.toMajor(this.amount, this.digits), MinorUnits.toMajor(this.balance, this.digits), this.type, this.errorMessage);
+  }
+}
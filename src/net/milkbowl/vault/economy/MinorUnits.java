@@ -0,0 +1,56 @@
+package net.milkbowl.vault.economy;
+
+/**
+ * Conversions between double amounts and long amounts in minor units, such
+ * as cents, for the fixed-point Economy methods. The scale is 10 to the
+ * power of the economy's fractionalDigits().
+ */
+public final class MinorUnits
+{
+  /** Used when an economy reports -1, meaning it has no fixed precision */
+  public static final int DEFAULT_DIGITS = 2;
+  
+  private static final long[] SCALES = { 1L, 10L, 100L, 1000L, 10000L, 100000L, 1000000L, 10000000L, 100000000L };
+  
+  private MinorUnits() {}
+  
+  /**
+   * @return the number of decimal places minor units stand for
+   */
+  public static int digits(Economy economy)
+  {
+    return digits(economy.fractionalDigits());
+  }
+  
+  public static int digits(int fractionalDigits)
+  {
+    if (fractionalDigits < 0) {
+      return DEFAULT_DIGITS;
+    }
+    return Math.min(fractionalDigits, SCALES.length - 1);
+  }
+  
+  /**
+   * @return minor units per major unit, such as 100 for two digits
+   */
+  public static long scale(int digits)
+  {
+    return SCALES[digits];
+  }
+  
+  /**
+   * Rounds half away from zero to the nearest minor unit, so a debit and the
+   * matching credit round to the same magnitude.
+   */
+  public static long toMinor(double amount, int digits)
+  {
+    // Math.round alone rounds half up, which is toward zero for negatives
+    long minor = Math.round(Math.abs(amount * SCALES[digits]));
+    return amount < 0.0D ? -minor : minor;
+  }
+  
+  public static double toMajor(long amount, int digits)
+  {
+    return (double)amount / SCALES[digits];
+  }
+}
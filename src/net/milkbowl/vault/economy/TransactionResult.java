@@ -0,0 +1,68 @@
+package net.milkbowl.vault.economy;
+
+import net.milkbowl.vault.economy.EconomyResponse.ResponseType;
+
+/**
+ * Mutable, reusable counterpart of EconomyResponse for the primitive
+ * deposit and withdraw methods. A plugin paying out rewards every tick can
+ * keep one instance and pass it to every call, so a transaction allocates
+ * nothing.
+ */
+public class TransactionResult
+{
+  private double amount;
+  private double balance;
+  private ResponseType type;
+  private String errorMessage;
+
+  /**
+   * Records an outcome.
+   * @return the status code of the type, as the primitive methods return
+   */
+  public int set(double amount, double balance, ResponseType type, String errorMessage)
+  {
+    this.amount = amount;
+    this.balance = balance;
+    this.type = type;
+    this.errorMessage = errorMessage;
+    return type.getId();
+  }
+
+  public int set(EconomyResponse response)
+  {
+    return set(response.amount, response.balance, response.type, response.errorMessage);
+  }
+
+  public double getAmount()
+  {
+    return this.amount;
+  }
+
+  public double getBalance()
+  {
+    return this.balance;
+  }
+
+  public ResponseType getType()
+  {
+    return this.type;
+  }
+
+  public String getErrorMessage()
+  {
+    return this.errorMessage;
+  }
+
+  public boolean transactionSuccess()
+  {
+    return this.type == ResponseType.SUCCESS;
+  }
+
+  /**
+   * @return a snapshot of the outcome as an immutable response
+   */
+  public EconomyResponse toResponse()
+  {
+    return new EconomyResponse(this.amount, this.balance, this.type, this.errorMessage);
+  }
+}
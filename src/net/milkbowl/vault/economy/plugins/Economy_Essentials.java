@@ -15,32 +15,61 @@
  */
 package net.milkbowl.vault.economy.plugins;
 
-import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
 import java.util.logging.Logger;
 
 import net.milkbowl.vault.economy.AbstractEconomy;
+import net.milkbowl.vault.economy.CurrencyFormatter;
+import net.milkbowl.vault.economy.EconomyBatchResponse;
 import net.milkbowl.vault.economy.EconomyResponse;
 import net.milkbowl.vault.economy.EconomyResponse.ResponseType;
+import net.milkbowl.vault.economy.TransactionResult;
 
 import org.bukkit.Bukkit;
+import org.bukkit.OfflinePlayer;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
 import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerJoinEvent;
 import org.bukkit.event.server.PluginDisableEvent;
 import org.bukkit.event.server.PluginEnableEvent;
 import org.bukkit.plugin.Plugin;
 
 import com.earth2me.essentials.Essentials;
+import com.earth2me.essentials.IConf;
 import com.earth2me.essentials.api.NoLoanPermittedException;
 import com.earth2me.essentials.api.UserDoesNotExistException;
 
 public class Economy_Essentials extends AbstractEconomy {
     private static final Logger log = Logger.getLogger("Minecraft");
 
+    // Responses are immutable, so the constant outcomes are shared
+    private static final EconomyResponse NO_BANKS = new EconomyResponse(0, 0, ResponseType.NOT_IMPLEMENTED, "Essentials Eco does not support bank accounts!");
+    private static final EconomyResponse NEGATIVE_WITHDRAW = new EconomyResponse(0, 0, ResponseType.FAILURE, "Cannot withdraw negative funds");
+    private static final EconomyResponse NEGATIVE_DEPOSIT = new EconomyResponse(0, 0, ResponseType.FAILURE, "Cannot desposit negative funds");
+    private static final EconomyResponse MISSING_ACCOUNT = new EconomyResponse(0, 0, ResponseType.FAILURE, "User does not exist");
+
     private final String name = "Essentials Economy";
     private Plugin plugin = null;
     private Essentials ess = null;
+    // Accounts seen to exist, and names seen not to, so the common path makes
+    // one call into Essentials and never relies on an exception. Both are
+    // capped, and a miss expires quickly, since accounts can be created in
+    // Essentials without Vault or a join event seeing it
+    private static final int MAX_KNOWN_ACCOUNTS = 16384;
+    private static final int MAX_MISSING_ACCOUNTS = 4096;
+    private static final long MISSING_ACCOUNT_NANOS = TimeUnit.SECONDS.toNanos(5);
+    private final Set<String> knownAccounts = Collections.newSetFromMap(new ConcurrentHashMap<String, Boolean>());
+    private final ConcurrentMap<String, Long> missingAccounts = new ConcurrentHashMap<String, Long>();
+    // Built from Essentials' settings on first use, dropped when it unhooks
+    private volatile CurrencyFormatter formatter = null;
 
     public Economy_Essentials(Plugin plugin) {
         this.plugin = plugin;
@@ -51,6 +80,7 @@ public class Economy_Essentials extends AbstractEconomy {
             Plugin essentials = plugin.getServer().getPluginManager().getPlugin("Essentials");
             if (essentials != null && essentials.isEnabled()) {
                 ess = (Essentials) essentials;
+                hookReload(ess);
                 log.info(String.format("[%s][Economy] %s hooked.", plugin.getDescription().getName(), name));
             }
         }
@@ -72,104 +102,223 @@ public class Economy_Essentials extends AbstractEconomy {
 
     @Override
     public double getBalance(String playerName) {
-        double balance;
-
+        if (!ensureAccount(playerName)) {
+            return 0;
+        }
         try {
-            balance = com.earth2me.essentials.api.Economy.getMoney(playerName);
+            return com.earth2me.essentials.api.Economy.getMoney(playerName);
         } catch (UserDoesNotExistException e) {
-            createPlayerAccount(playerName);
-            balance = 0;
+            // Removed behind our back since it was last seen
+            forgetAccount(playerName);
+            return 0;
         }
-
-        return balance;
     }
 
     @Override
     public boolean createPlayerAccount(String playerName) {
-        if (hasAccount(playerName)) {
+        // Ask Essentials directly, creating an NPC over a real user must never
+        // happen because of a stale cache entry
+        if (com.earth2me.essentials.api.Economy.playerExists(playerName)) {
+            rememberAccount(playerName);
             return false;
         }
-        return com.earth2me.essentials.api.Economy.createNPC(playerName);
+        boolean created = com.earth2me.essentials.api.Economy.createNPC(playerName);
+        if (created) {
+            rememberAccount(playerName);
+        }
+        return created;
     }
 
-    @Override
-    public EconomyResponse withdrawPlayer(String playerName, double amount) {
-        if (amount < 0) {
-            return new EconomyResponse(0, 0, ResponseType.FAILURE, "Cannot withdraw negative funds");
+    /**
+     * Creates the account if it is missing, like the balance and transaction
+     * methods always have
+     * @return true if the account exists now
+     */
+    private boolean ensureAccount(String playerName) {
+        return hasAccount(playerName) || createPlayerAccount(playerName) || knownAccounts.contains(playerName);
+    }
+
+    private void rememberAccount(String playerName) {
+        if (knownAccounts.size() >= MAX_KNOWN_ACCOUNTS) {
+            knownAccounts.clear();
         }
-        
-        double balance;
-        EconomyResponse.ResponseType type;
-        String errorMessage = null;
+        knownAccounts.add(playerName);
+        missingAccounts.remove(playerName);
+    }
+
+    private void rememberMissing(String playerName) {
+        long now = System.nanoTime();
+        if (missingAccounts.size() >= MAX_MISSING_ACCOUNTS) {
+            for (Iterator<Long> i = missingAccounts.values().iterator(); i.hasNext();) {
+                if (i.next().longValue() - now <= 0) {
+                    i.remove();
+                }
+            }
+            if (missingAccounts.size() >= MAX_MISSING_ACCOUNTS) {
+                missingAccounts.clear();
+            }
+        }
+        missingAccounts.put(playerName, Long.valueOf(now + MISSING_ACCOUNT_NANOS));
+    }
+
+    /**
+     * @return true if the name was seen not to exist a moment ago
+     */
+    private boolean isMissing(String playerName) {
+        Long expires = missingAccounts.get(playerName);
+        if (expires == null) {
+            return false;
+        }
+        if (expires.longValue() - System.nanoTime() > 0) {
+            return true;
+        }
+        missingAccounts.remove(playerName, expires);
+        return false;
+    }
 
+    private void forgetAccount(String playerName) {
+        knownAccounts.remove(playerName);
+        missingAccounts.remove(playerName);
+    }
+
+    // Outcomes of apply()
+    private static final int APPLIED = 0;
+    private static final int NO_ACCOUNT = 1;
+    private static final int NO_LOAN = 2;
+
+    /**
+     * Adds or subtracts the amount through Essentials, creating the account
+     * first if it is missing. The outcome is a code, so both the response and
+     * the holder paths share this without allocating
+     */
+    private int apply(String playerName, double amount, boolean deposit) {
+        if (!ensureAccount(playerName)) {
+            return NO_ACCOUNT;
+        }
         try {
-            com.earth2me.essentials.api.Economy.subtract(playerName, amount);
-            balance = com.earth2me.essentials.api.Economy.getMoney(playerName);
-            type = EconomyResponse.ResponseType.SUCCESS;
+            if (deposit) {
+                com.earth2me.essentials.api.Economy.add(playerName, amount);
+            } else {
+                com.earth2me.essentials.api.Economy.subtract(playerName, amount);
+            }
+            return APPLIED;
         } catch (UserDoesNotExistException e) {
+            forgetAccount(playerName);
             if (createPlayerAccount(playerName)) {
-                return withdrawPlayer(playerName, amount);
-            } else {
-                amount = 0;
-                balance = 0;
-                type = EconomyResponse.ResponseType.FAILURE;
-                errorMessage = "User does not exist";
+                return apply(playerName, amount, deposit);
             }
+            return NO_ACCOUNT;
         } catch (NoLoanPermittedException e) {
-            try {
-                balance = com.earth2me.essentials.api.Economy.getMoney(playerName);
-                amount = 0;
-                type = EconomyResponse.ResponseType.FAILURE;
-                errorMessage = "Loan was not permitted";
-            } catch (UserDoesNotExistException e1) {
-                amount = 0;
-                balance = 0;
-                type = EconomyResponse.ResponseType.FAILURE;
-                errorMessage = "User does not exist";
-            }
+            return NO_LOAN;
+        }
+    }
+
+    /**
+     * @return the balance after apply(), or 0 if the account has since gone
+     */
+    private double balanceAfter(String playerName) {
+        try {
+            return com.earth2me.essentials.api.Economy.getMoney(playerName);
+        } catch (UserDoesNotExistException e) {
+            forgetAccount(playerName);
+            return 0;
+        }
+    }
+
+    private EconomyResponse transact(String playerName, double amount, boolean deposit) {
+        switch (apply(playerName, amount, deposit)) {
+        case APPLIED:
+            return new EconomyResponse(amount, balanceAfter(playerName), ResponseType.SUCCESS, null);
+        case NO_LOAN:
+            return new EconomyResponse(0, balanceAfter(playerName), ResponseType.FAILURE, "Loan was not permitted");
+        default:
+            return MISSING_ACCOUNT;
         }
+    }
 
-        return new EconomyResponse(amount, balance, type, errorMessage);
+    private int transact(String playerName, double amount, boolean deposit, TransactionResult result) {
+        switch (apply(playerName, amount, deposit)) {
+        case APPLIED:
+            return result.set(amount, balanceAfter(playerName), ResponseType.SUCCESS, null);
+        case NO_LOAN:
+            return result.set(0, balanceAfter(playerName), ResponseType.FAILURE, "Loan was not permitted");
+        default:
+            return result.set(MISSING_ACCOUNT);
+        }
+    }
+
+    @Override
+    public EconomyResponse withdrawPlayer(String playerName, double amount) {
+        if (amount < 0) {
+            return NEGATIVE_WITHDRAW;
+        }
+        return transact(playerName, amount, false);
+    }
+
+    @Deprecated
+    @Override
+    public int withdrawPlayer(String playerName, double amount, TransactionResult result) {
+        if (amount < 0) {
+            return result.set(NEGATIVE_WITHDRAW);
+        }
+        return transact(playerName, amount, false, result);
     }
 
     @Override
     public EconomyResponse depositPlayer(String playerName, double amount) {
         if (amount < 0) {
-            return new EconomyResponse(0, 0, ResponseType.FAILURE, "Cannot desposit negative funds");
+            return NEGATIVE_DEPOSIT;
         }
-        
-        double balance;
-        EconomyResponse.ResponseType type;
-        String errorMessage = null;
+        return transact(playerName, amount, true);
+    }
 
-        try {
-            com.earth2me.essentials.api.Economy.add(playerName, amount);
-            balance = com.earth2me.essentials.api.Economy.getMoney(playerName);
-            type = EconomyResponse.ResponseType.SUCCESS;
-        } catch (UserDoesNotExistException e) {
-            if (createPlayerAccount(playerName)) {
-                return depositPlayer(playerName, amount);
-            } else {
-                amount = 0;
-                balance = 0;
-                type = EconomyResponse.ResponseType.FAILURE;
-                errorMessage = "User does not exist";
+    @Deprecated
+    @Override
+    public int depositPlayer(String playerName, double amount, TransactionResult result) {
+        if (amount < 0) {
+            return result.set(NEGATIVE_DEPOSIT);
+        }
+        return transact(playerName, amount, true, result);
+    }
+
+    @Override
+    public EconomyBatchResponse depositPlayers(Map<OfflinePlayer, Double> amounts) {
+        return transactAll(amounts, true);
+    }
+
+    @Override
+    public EconomyBatchResponse withdrawPlayers(Map<OfflinePlayer, Double> amounts) {
+        return transactAll(amounts, false);
+    }
+
+    /**
+     * Runs a batch straight against Essentials. New balances are not read
+     * back, since that second call per account is most of what a batch
+     * saves, so they are reported as NaN
+     */
+    private EconomyBatchResponse transactAll(Map<OfflinePlayer, Double> amounts, boolean deposit) {
+        EconomyBatchResponse responses = new EconomyBatchResponse(amounts.size());
+        int i = 0;
+        for (Map.Entry<OfflinePlayer, Double> entry : amounts.entrySet()) {
+            OfflinePlayer player = entry.getKey();
+            String playerName = player.getName();
+            double amount = entry.getValue().doubleValue();
+            if (amount < 0) {
+                responses.set(i++, player, deposit ? NEGATIVE_DEPOSIT : NEGATIVE_WITHDRAW);
+                continue;
             }
-        } catch (NoLoanPermittedException e) {
-            try {
-                balance = com.earth2me.essentials.api.Economy.getMoney(playerName);
-                amount = 0;
-                type = EconomyResponse.ResponseType.FAILURE;
-                errorMessage = "Loan was not permitted";
-            } catch (UserDoesNotExistException e1) {
-                balance = 0;
-                amount = 0;
-                type = EconomyResponse.ResponseType.FAILURE;
-                errorMessage = "Loan was not permitted";
+            switch (playerName == null ? NO_ACCOUNT : apply(playerName, amount, deposit)) {
+            case APPLIED:
+                responses.set(i++, player, amount, Double.NaN, ResponseType.SUCCESS, null);
+                break;
+            case NO_LOAN:
+                responses.set(i++, player, 0, Double.NaN, ResponseType.FAILURE, "Loan was not permitted");
+                break;
+            default:
+                responses.set(i++, player, MISSING_ACCOUNT);
             }
         }
-
-        return new EconomyResponse(amount, balance, type, errorMessage);
+        return responses;
     }
 
     public class EconomyServerListener implements Listener {
@@ -186,16 +335,26 @@ public class Economy_Essentials extends AbstractEconomy {
 
                 if (essentials.getDescription().getName().equals("Essentials")) {
                     economy.ess = (Essentials) essentials;
+                    economy.hookReload(economy.ess);
                     log.info(String.format("[%s][Economy] %s hooked.", plugin.getDescription().getName(), economy.name));
                 }
             }
         }
 
+        @EventHandler(priority = EventPriority.MONITOR)
+        public void onPlayerJoin(PlayerJoinEvent event) {
+            // Essentials has created the user by now
+            economy.missingAccounts.remove(event.getPlayer().getName());
+        }
+
         @EventHandler(priority = EventPriority.MONITOR)
         public void onPluginDisable(PluginDisableEvent event) {
             if (economy.ess != null) {
                 if (event.getPlugin().getDescription().getName().equals("Essentials")) {
                     economy.ess = null;
+                    economy.knownAccounts.clear();
+                    economy.missingAccounts.clear();
+                    economy.formatter = null;
                     log.info(String.format("[%s][Economy] %s unhooked.", plugin.getDescription().getName(), economy.name));
                 }
             }
@@ -204,7 +363,49 @@ public class Economy_Essentials extends AbstractEconomy {
 
     @Override
     public String format(double amount) {
-        return com.earth2me.essentials.api.Economy.format(amount);
+        CurrencyFormatter formatter = this.formatter;
+        if (formatter == null) {
+            formatter = createFormatter();
+            if (formatter == null) {
+                return com.earth2me.essentials.api.Economy.format(amount);
+            }
+            this.formatter = formatter;
+        }
+        return formatter.format(amount);
+    }
+
+    /**
+     * Works out Essentials' currency format once: its "currency" message with
+     * the symbol filled in, and the amount with two digits and no fraction
+     * when it is .00
+     * @return the formatter, or null if Essentials is not hooked or its
+     *         message does not hold the amount exactly once
+     */
+    private CurrencyFormatter createFormatter() {
+        if (ess == null) {
+            return null;
+        }
+        String marker = "\u0000";
+        String template = ess.getI18n().format("currency", ess.getSettings().getCurrencySymbol(), marker);
+        int at = template.indexOf(marker);
+        if (at < 0 || template.indexOf(marker, at + 1) >= 0) {
+            return null;
+        }
+        return new CurrencyFormatter(2, template.substring(0, at), template.substring(at + 1), "", "", true);
+    }
+
+    /**
+     * Essentials reloads its settings and messages together, so the format
+     * is worked out again on the next use
+     */
+    @SuppressWarnings("deprecation")
+    private void hookReload(Essentials essentials) {
+        essentials.addReloadListener(new IConf() {
+            @Override
+            public void reloadConfig() {
+                formatter = null;
+            }
+        });
     }
 
     @Override
@@ -219,6 +420,9 @@ public class Economy_Essentials extends AbstractEconomy {
 
     @Override
     public boolean has(String playerName, double amount) {
+        if (!hasAccount(playerName)) {
+            return false;
+        }
         try {
             return com.earth2me.essentials.api.Economy.hasEnough(playerName, amount);
         } catch (UserDoesNotExistException e) {
@@ -228,47 +432,47 @@ public class Economy_Essentials extends AbstractEconomy {
 
     @Override
     public EconomyResponse createBank(String name, String player) {
-        return new EconomyResponse(0, 0, ResponseType.NOT_IMPLEMENTED, "Essentials Eco does not support bank accounts!");
+        return NO_BANKS;
     }
 
     @Override
     public EconomyResponse deleteBank(String name) {
-        return new EconomyResponse(0, 0, ResponseType.NOT_IMPLEMENTED, "Essentials Eco does not support bank accounts!");
+        return NO_BANKS;
     }
 
     @Override
     public EconomyResponse bankHas(String name, double amount) {
-        return new EconomyResponse(0, 0, ResponseType.NOT_IMPLEMENTED, "Essentials Eco does not support bank accounts!");
+        return NO_BANKS;
     }
 
     @Override
     public EconomyResponse bankWithdraw(String name, double amount) {
-        return new EconomyResponse(0, 0, ResponseType.NOT_IMPLEMENTED, "Essentials Eco does not support bank accounts!");
+        return NO_BANKS;
     }
 
     @Override
     public EconomyResponse bankDeposit(String name, double amount) {
-        return new EconomyResponse(0, 0, ResponseType.NOT_IMPLEMENTED, "Essentials Eco does not support bank accounts!");
+        return NO_BANKS;
     }
 
     @Override
     public EconomyResponse isBankOwner(String name, String playerName) {
-        return new EconomyResponse(0, 0, ResponseType.NOT_IMPLEMENTED, "Essentials Eco does not support bank accounts!");
+        return NO_BANKS;
     }
 
     @Override
     public EconomyResponse isBankMember(String name, String playerName) {
-        return new EconomyResponse(0, 0, ResponseType.NOT_IMPLEMENTED, "Essentials Eco does not support bank accounts!");
+        return NO_BANKS;
     }
 
     @Override
     public EconomyResponse bankBalance(String name) {
-        return new EconomyResponse(0, 0, ResponseType.NOT_IMPLEMENTED, "Essentials Eco does not support bank accounts!");
+        return NO_BANKS;
     }
 
     @Override
     public List<String> getBanks() {
-        return new ArrayList<String>();
+        return Collections.emptyList();
     }
 
     @Override
@@ -278,7 +482,19 @@ public class Economy_Essentials extends AbstractEconomy {
 
     @Override
     public boolean hasAccount(String playerName) {
-        return com.earth2me.essentials.api.Economy.playerExists(playerName);
+        if (knownAccounts.contains(playerName)) {
+            return true;
+        }
+        if (isMissing(playerName)) {
+            return false;
+        }
+        boolean exists = com.earth2me.essentials.api.Economy.playerExists(playerName);
+        if (exists) {
+            rememberAccount(playerName);
+        } else {
+            rememberMissing(playerName);
+        }
+        return exists;
     }
 
 	@Override
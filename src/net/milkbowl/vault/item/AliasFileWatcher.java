@@ -0,0 +1,125 @@
+package net.milkbowl.vault.item;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Reloads an alias file into Items whenever it changes on disk. The watch
+ * runs on its own daemon thread, which also parses the file, so neither the
+ * main thread nor lookups ever wait for a reload.
+ */
+public class AliasFileWatcher implements Runnable
+{
+  public static final String FILE_NAME = "aliases.txt";
+
+  /** Editors often write a file in several steps, so wait for it to settle */
+  private static final long SETTLE_MILLIS = 200L;
+
+  private final File file;
+  private final Logger log;
+  private final WatchService watcher;
+  private final Thread thread;
+
+  public AliasFileWatcher(File file, Logger log) throws IOException
+  {
+    this.file = file;
+    this.log = log;
+    this.watcher = FileSystems.getDefault().newWatchService();
+    file.getAbsoluteFile().getParentFile().toPath().register(this.watcher,
+      StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+    this.thread = new Thread(this, "Vault item aliases");
+    this.thread.setDaemon(true);
+  }
+
+  /**
+   * Loads the file once, if it exists, and starts watching it.
+   */
+  public void start()
+  {
+    this.thread.start();
+  }
+
+  /**
+   * Stops watching. The aliases already loaded stay in place.
+   */
+  public void close()
+  {
+    try
+    {
+      this.watcher.close();
+    }
+    catch (IOException e)
+    {
+      this.log.warning(String.format("[Items] Could not close the watch on %s: %s", this.file.getPath(), e.getMessage()));
+    }
+  }
+
+  public void run()
+  {
+    if (this.file.isFile()) {
+      reload();
+    }
+    Path name = this.file.toPath().getFileName();
+    try
+    {
+      while (true)
+      {
+        WatchKey key = this.watcher.take();
+        boolean changed = false;
+        // Collect the burst of events a single save produces
+        while (key != null)
+        {
+          for (WatchEvent<?> event : key.pollEvents()) {
+            if ((event.kind() == StandardWatchEventKinds.OVERFLOW) || (name.equals(event.context()))) {
+              changed = true;
+            }
+          }
+          if (!key.reset()) {
+            return;
+          }
+          key = this.watcher.poll(SETTLE_MILLIS, TimeUnit.MILLISECONDS);
+        }
+        if (changed) {
+          reload();
+        }
+      }
+    }
+    catch (ClosedWatchServiceException e) {}
+    catch (InterruptedException e) {}
+  }
+
+  private void reload()
+  {
+    try
+    {
+      if (this.file.isFile())
+      {
+        int count = Items.loadAliases(this.file);
+        this.log.info(String.format("[Items] Loaded %d aliases from %s", count, this.file.getPath()));
+      }
+      else
+      {
+        Items.loadAliases(null);
+      }
+    }
+    catch (IOException e)
+    {
+      this.log.severe(String.format("[Items] Could not load %s: %s", this.file.getPath(), e.getMessage()));
+    }
+    catch (RuntimeException e)
+    {
+      // Keep watching, the next save may fix whatever went wrong
+      this.log.log(Level.SEVERE, String.format("[Items] Could not load %s", this.file.getPath()), e);
+    }
+  }
+}
@@ -0,0 +1,239 @@
+package net.milkbowl.vault.item;
+
+/**
+ * Burkhard-Keller tree over words, using Damerau-Levenshtein distance, so a
+ * swapped pair of letters costs one edit like any other typo. Children are
+ * keyed by their distance to the parent, so the triangle inequality lets a
+ * nearest-word search skip every subtree that cannot be within range.
+ * <p>
+ * Trees are persistent: adding a word copies only the path to the new node
+ * and returns a new tree, leaving the old one untouched for its readers.
+ */
+final class BkTree
+{
+  /** Longest word or query term the tree will compare */
+  static final int MAX_LENGTH = 32;
+
+  private static final class Node
+  {
+    final String word;
+    final int[] distances;
+    final Node[] children;
+
+    Node(String word, int[] distances, Node[] children)
+    {
+      this.word = word;
+      this.distances = distances;
+      this.children = children;
+    }
+  }
+
+  private final Node root;
+  private final int size;
+
+  BkTree()
+  {
+    this(null, 0);
+  }
+
+  private BkTree(Node root, int size)
+  {
+    this.root = root;
+    this.size = size;
+  }
+
+  int size()
+  {
+    return this.size;
+  }
+
+  /**
+   * @return a tree that also contains the word, or this tree if it already
+   *         does or the word is too long to index
+   */
+  BkTree add(String word)
+  {
+    if ((word.length() == 0) || (word.length() > MAX_LENGTH)) {
+      return this;
+    }
+    if (this.root == null) {
+      return new BkTree(new Node(word, new int[0], new Node[0]), 1);
+    }
+    Node added = add(this.root, word);
+    return added == null ? this : new BkTree(added, this.size + 1);
+  }
+
+  private static Node add(Node node, String word)
+  {
+    int d = distance(node.word, word);
+    if (d == 0) {
+      return null;
+    }
+    for (int i = 0; i < node.distances.length; i++) {
+      if (node.distances[i] == d)
+      {
+        Node child = add(node.children[i], word);
+        if (child == null) {
+          return null;
+        }
+        Node[] children = node.children.clone();
+        children[i] = child;
+        return new Node(node.word, node.distances, children);
+      }
+    }
+    int n = node.distances.length;
+    int[] distances = new int[n + 1];
+    Node[] children = new Node[n + 1];
+    System.arraycopy(node.distances, 0, distances, 0, n);
+    System.arraycopy(node.children, 0, children, 0, n);
+    distances[n] = d;
+    children[n] = new Node(word, new int[0], new Node[0]);
+    return new Node(node.word, distances, children);
+  }
+
+  /**
+   * Finds the closest word within maxDistance, visiting at most maxVisits
+   * nodes so the cost of a query stays bounded however large the tree is.
+   * Ties go to the alphabetically first word.
+   * @return closest word, or null if none was found in range
+   */
+  String nearest(String term, int maxDistance, int maxVisits)
+  {
+    if ((this.root == null) || (term.length() > MAX_LENGTH)) {
+      return null;
+    }
+    // Each node is pushed at most once, and each visit pushes at most one
+    // child per possible edge distance
+    Node[] stack = new Node[Math.min(this.size, maxVisits * (MAX_LENGTH + 1) + 1)];
+    stack[0] = this.root;
+    int top = 1;
+    int visits = 0;
+    int[][] table = new int[MAX_LENGTH + 2][MAX_LENGTH + 2];
+    char[] seen = new char[MAX_LENGTH];
+    int[] seenRows = new int[MAX_LENGTH];
+    String best = null;
+    int bestDistance = maxDistance + 1;
+    while ((top > 0) && (visits < maxVisits))
+    {
+      Node node = stack[--top];
+      visits++;
+      int d = distance(node.word, term, table, seen, seenRows);
+      if ((d < bestDistance) || ((d == bestDistance) && (best != null) && (node.word.compareTo(best) < 0)))
+      {
+        best = node.word;
+        bestDistance = d;
+      }
+      // Only children whose edge lies within the current radius can hold a
+      // closer word. Push the farthest edges first so the subtree most likely
+      // to hold a close word is searched next and shrinks the radius early.
+      for (int offset = bestDistance; offset >= 0; offset--) {
+        for (int i = 0; i < node.distances.length; i++) {
+          if (Math.abs(node.distances[i] - d) == offset) {
+            stack[top++] = node.children[i];
+          }
+        }
+      }
+    }
+    return bestDistance <= maxDistance ? best : null;
+  }
+
+  /**
+   * @return whether the tree holds exactly this word
+   */
+  boolean contains(String word)
+  {
+    Node node = this.root;
+    while (node != null)
+    {
+      int d = distance(node.word, word);
+      if (d == 0) {
+        return true;
+      }
+      Node next = null;
+      for (int i = 0; i < node.distances.length; i++) {
+        if (node.distances[i] == d)
+        {
+          next = node.children[i];
+          break;
+        }
+      }
+      node = next;
+    }
+    return false;
+  }
+
+  /**
+   * Damerau-Levenshtein distance, counting an adjacent transposition as one
+   * edit. Unlike the restricted (optimal string alignment) variant this is a
+   * true metric, which the pruning in nearest() depends on. Pruning relies
+   * on exact distances, so there is no early exit; words are short enough
+   * that the full table is cheap.
+   */
+  static int distance(String a, String b)
+  {
+    return distance(a, b, new int[a.length() + 2][b.length() + 2], new char[a.length()], new int[a.length()]);
+  }
+
+  /**
+   * @param table scratch of at least (a.length() + 2) by (b.length() + 2)
+   * @param seen scratch for the distinct letters of a seen so far
+   * @param seenRows scratch for the last row each of those letters was on
+   */
+  private static int distance(String a, String b, int[][] table, char[] seen, int[] seenRows)
+  {
+    int n = a.length();
+    int m = b.length();
+    // Row and column 0 hold an impossible cost so transpositions never
+    // reach before the start of either word; the table is offset by one
+    int infinity = n + m;
+    table[0][0] = infinity;
+    for (int i = 0; i <= n; i++)
+    {
+      table[i + 1][0] = infinity;
+      table[i + 1][1] = i;
+    }
+    for (int j = 0; j <= m; j++)
+    {
+      table[0][j + 1] = infinity;
+      table[1][j + 1] = j;
+    }
+    int seenCount = 0;
+    for (int i = 1; i <= n; i++)
+    {
+      char c = a.charAt(i - 1);
+      int lastColumn = 0;
+      for (int j = 1; j <= m; j++)
+      {
+        char d = b.charAt(j - 1);
+        int lastRow = 0;
+        for (int k = 0; k < seenCount; k++) {
+          if (seen[k] == d)
+          {
+            lastRow = seenRows[k];
+            break;
+          }
+        }
+        int l = lastColumn;
+        int cost = 1;
+        if (c == d)
+        {
+          cost = 0;
+          lastColumn = j;
+        }
+        int best = Math.min(Math.min(table[i][j] + cost, table[i + 1][j] + 1), table[i][j + 1] + 1);
+        table[i + 1][j + 1] = Math.min(best, table[lastRow][l] + (i - lastRow - 1) + 1 + (j - l - 1));
+      }
+      int k = 0;
+      while ((k < seenCount) && (seen[k] != c)) {
+        k++;
+      }
+      if (k == seenCount)
+      {
+        seen[k] = c;
+        seenCount++;
+      }
+      seenRows[k] = i;
+    }
+    return table[n + 1][m + 1];
+  }
+}
@@ -0,0 +1,407 @@
+package net.milkbowl.vault.item;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Inverted index from search fragments to the attribute groups that use them.
+ * The fragments found in a query by the FragmentMatcher select the candidate
+ * groups, and only those groups are ever scored.
+ */
+final class FragmentIndex
+{
+  private final String[] fragments;
+  private final Map<String, Integer> fragmentIds;
+  private final FragmentMatcher matcher;
+  private final int[][] postings;
+  private final ItemInfo[] groupItems;
+  private final int[][] groupFragments;
+  private final int[] groupValues;
+
+  FragmentIndex(List<ItemInfo> items)
+  {
+    this(null, items, Collections.<String, ItemInfo>emptyMap());
+  }
+
+  /**
+   * Indexes only the given names, such as one locale's item names.
+   */
+  FragmentIndex(Map<String, ItemInfo> names)
+  {
+    this(null, Collections.<ItemInfo>emptyList(), names);
+  }
+
+  /**
+   * Appends the groups of the added items, then one group per alias, to a
+   * copy of base. Posting lists of untouched fragments and the automaton,
+   * when no fragment is new, are shared with base rather than rebuilt.
+   */
+  private FragmentIndex(FragmentIndex base, List<ItemInfo> items, Map<String, ItemInfo> aliases)
+  {
+    String[] baseFragments = base == null ? new String[0] : base.fragments;
+    Map<String, Integer> baseIds = base == null ? Collections.<String, Integer>emptyMap() : base.fragmentIds;
+    int[][] basePostings = base == null ? new int[0][] : base.postings;
+    int baseGroups = base == null ? 0 : base.groupItems.length;
+
+    List<ItemInfo> addedItems = new ArrayList<ItemInfo>();
+    List<String[]> addedGroups = new ArrayList<String[]>();
+    for (ItemInfo item : items) {
+      for (String[] attributes : item.search) {
+        if (attributes.length > 0)
+        {
+          addedItems.add(item);
+          addedGroups.add(attributes);
+        }
+      }
+    }
+    // An alias is one group of its words, so they match in any order
+    for (Map.Entry<String, ItemInfo> alias : aliases.entrySet())
+    {
+      String[] words = alias.getKey().toLowerCase().trim().split("\\s+");
+      if (words[0].length() > 0)
+      {
+        addedItems.add(alias.getValue());
+        addedGroups.add(words);
+      }
+    }
+
+    Map<String, Integer> newIds = new HashMap<String, Integer>();
+    List<String> newFragments = new ArrayList<String>();
+    Map<Integer, List<Integer>> newPostings = new HashMap<Integer, List<Integer>>();
+    int[][] groupFragments = Arrays.copyOf(base == null ? new int[0][] : base.groupFragments, baseGroups + addedGroups.size());
+    int[] groupValues = Arrays.copyOf(base == null ? new int[0] : base.groupValues, groupFragments.length);
+
+    // Groups are numbered in catalog order so sorting candidates by id
+    // reproduces the order the catalog has always been searched in
+    for (int g = 0; g < addedGroups.size(); g++)
+    {
+      String[] attributes = addedGroups.get(g);
+      int group = baseGroups + g;
+      int[] ids = new int[attributes.length];
+      int value = 0;
+      for (int i = 0; i < attributes.length; i++)
+      {
+        Integer id = baseIds.get(attributes[i]);
+        if (id == null) {
+          id = newIds.get(attributes[i]);
+        }
+        if (id == null)
+        {
+          id = Integer.valueOf(baseFragments.length + newFragments.size());
+          newIds.put(attributes[i], id);
+          newFragments.add(attributes[i]);
+        }
+        ids[i] = id.intValue();
+        value += attributes[i].length();
+        List<Integer> posting = newPostings.get(id);
+        if (posting == null)
+        {
+          posting = new ArrayList<Integer>();
+          newPostings.put(id, posting);
+        }
+        if ((posting.isEmpty()) || (posting.get(posting.size() - 1).intValue() != group)) {
+          posting.add(Integer.valueOf(group));
+        }
+      }
+      groupFragments[group] = ids;
+      groupValues[group] = value;
+    }
+
+    this.fragments = Arrays.copyOf(baseFragments, baseFragments.length + newFragments.size());
+    for (int f = 0; f < newFragments.size(); f++) {
+      this.fragments[baseFragments.length + f] = newFragments.get(f);
+    }
+    if (newFragments.isEmpty())
+    {
+      this.fragmentIds = baseIds;
+      this.matcher = base == null ? new FragmentMatcher(this.fragments) : base.matcher;
+    }
+    else
+    {
+      // Inserting into an Aho-Corasick trie invalidates its failure links, so
+      // the automaton is rebuilt; it is small next to the group tables
+      Map<String, Integer> fragmentIds = new HashMap<String, Integer>(baseIds);
+      fragmentIds.putAll(newIds);
+      this.fragmentIds = fragmentIds;
+      this.matcher = new FragmentMatcher(this.fragments);
+    }
+    this.postings = Arrays.copyOf(basePostings, this.fragments.length);
+    for (Map.Entry<Integer, List<Integer>> posting : newPostings.entrySet())
+    {
+      int f = posting.getKey().intValue();
+      int[] old = f < basePostings.length ? basePostings[f] : new int[0];
+      int[] appended = Arrays.copyOf(old, old.length + posting.getValue().size());
+      for (int i = 0; i < posting.getValue().size(); i++) {
+        appended[old.length + i] = posting.getValue().get(i).intValue();
+      }
+      this.postings[f] = appended;
+    }
+    this.groupItems = Arrays.copyOf(base == null ? new ItemInfo[0] : base.groupItems, groupFragments.length);
+    for (int g = 0; g < addedItems.size(); g++) {
+      this.groupItems[baseGroups + g] = addedItems.get(g);
+    }
+    this.groupFragments = groupFragments;
+    this.groupValues = groupValues;
+  }
+
+  /**
+   * @return an index that also searches the added items and aliases, which
+   *         rank after every existing group on ties
+   */
+  FragmentIndex plus(List<ItemInfo> items, Map<String, ItemInfo> aliases)
+  {
+    return new FragmentIndex(this, items, aliases);
+  }
+
+  /**
+   * Scores every attribute group whose fragments all occur in the query and
+   * returns the winner, using the same rules Items.itemByName always has.
+   */
+  ItemInfo bestMatch(String searchString)
+  {
+    boolean[] present = new boolean[this.postings.length];
+    int[] candidates = candidates(searchString, present);
+
+    ItemInfo matchedItem = null;
+    int matchedItemStrength = 0;
+    int matchedValue = 0;
+    for (int i = 0; i < candidates.length; i++)
+    {
+      int group = candidates[i];
+      if ((i > 0) && (candidates[i - 1] == group)) {
+        continue;
+      }
+      int[] ids = this.groupFragments[group];
+      boolean match = true;
+      for (int id : ids) {
+        if (!present[id])
+        {
+          match = false;
+          break;
+        }
+      }
+      int val = this.groupValues[group];
+      if ((match) && (
+        (matchedItem == null) || (val > matchedValue) || (ids.length > matchedItemStrength)))
+      {
+        matchedItem = this.groupItems[group];
+        matchedValue = val;
+        matchedItemStrength = ids.length;
+      }
+    }
+    return matchedItem;
+  }
+
+  /**
+   * Returns every item with at least one attribute group sharing a fragment
+   * with the query, in catalog order and without duplicates.
+   */
+  List<ItemInfo> anyMatches(String searchString)
+  {
+    int[] candidates = candidates(searchString, new boolean[this.postings.length]);
+    List<ItemInfo> matches = new ArrayList<ItemInfo>();
+    // Aliases and registered items put groups of an item out of sequence
+    Set<ItemInfo> seen = Collections.newSetFromMap(new IdentityHashMap<ItemInfo, Boolean>());
+    for (int group : candidates)
+    {
+      ItemInfo item = this.groupItems[group];
+      if (seen.add(item)) {
+        matches.add(item);
+      }
+    }
+    return matches;
+  }
+
+  /**
+   * Ranks the items with a fully matching attribute group and keeps the best
+   * limit of them in a bounded min-heap. Each item is scored by its best
+   * group: total matched fragment length first, then fragment count, then
+   * catalog order. The item bestMatch would return always comes first, even
+   * where its order-dependent rule disagrees with this ranking, so the top
+   * result of a search is what itemByName finds.
+   */
+  ItemMatch[] topMatches(String searchString, int limit)
+  {
+    if (limit <= 0) {
+      return new ItemMatch[0];
+    }
+    boolean[] present = new boolean[this.postings.length];
+    int[] candidates = candidates(searchString, present);
+
+    // Best key per item; an item's groups need not be adjacent once aliases
+    // or registered items are appended
+    Map<ItemInfo, Long> bestKeys = new IdentityHashMap<ItemInfo, Long>();
+    ItemInfo matchedItem = null;
+    int matchedItemStrength = 0;
+    int matchedValue = 0;
+    for (int i = 0; i < candidates.length; i++)
+    {
+      int group = candidates[i];
+      if ((i > 0) && (candidates[i - 1] == group)) {
+        continue;
+      }
+      int[] ids = this.groupFragments[group];
+      boolean match = true;
+      for (int id : ids) {
+        if (!present[id])
+        {
+          match = false;
+          break;
+        }
+      }
+      if (match)
+      {
+        int val = this.groupValues[group];
+        if ((matchedItem == null) || (val > matchedValue) || (ids.length > matchedItemStrength))
+        {
+          matchedItem = this.groupItems[group];
+          matchedValue = val;
+          matchedItemStrength = ids.length;
+        }
+        long key = rankKey(val, ids.length, group);
+        Long best = bestKeys.get(this.groupItems[group]);
+        if ((best == null) || (key > best.longValue())) {
+          bestKeys.put(this.groupItems[group], Long.valueOf(key));
+        }
+      }
+    }
+
+    long[] heapKeys = new long[Math.min(limit, bestKeys.size())];
+    ItemInfo[] heapItems = new ItemInfo[heapKeys.length];
+    int size = 0;
+    for (Map.Entry<ItemInfo, Long> best : bestKeys.entrySet())
+    {
+      long key = best.getValue().longValue();
+      if (size < heapKeys.length)
+      {
+        heapKeys[size] = key;
+        heapItems[size] = best.getKey();
+        siftUp(heapKeys, heapItems, size++);
+      }
+      else if (key > heapKeys[0])
+      {
+        heapKeys[0] = key;
+        heapItems[0] = best.getKey();
+        siftDown(heapKeys, heapItems, 0, size);
+      }
+    }
+
+    // Drain the min-heap from the back to get best-first order
+    ItemMatch[] matches = new ItemMatch[size];
+    while (size > 0)
+    {
+      long key = heapKeys[0];
+      matches[size - 1] = new ItemMatch(heapItems[0], (int)(key >>> 40), (int)(key >>> 32 & 0xFF));
+      size--;
+      heapKeys[0] = heapKeys[size];
+      heapItems[0] = heapItems[size];
+      siftDown(heapKeys, heapItems, 0, size);
+    }
+    if ((matches.length > 0) && (matches[0].getItem() != matchedItem)) {
+      promote(matches, matchedItem, bestKeys.get(matchedItem).longValue());
+    }
+    return matches;
+  }
+
+  /**
+   * Moves the item to the front, shifting the others down; if it was not
+   * ranked at all it takes the place of the last match.
+   */
+  private static void promote(ItemMatch[] matches, ItemInfo item, long key)
+  {
+    int at = matches.length - 1;
+    for (int i = 0; i < matches.length; i++) {
+      if (matches[i].getItem() == item)
+      {
+        at = i;
+        break;
+      }
+    }
+    System.arraycopy(matches, 0, matches, 1, at);
+    matches[0] = new ItemMatch(item, (int)(key >>> 40), (int)(key >>> 32 & 0xFF));
+  }
+
+  private static long rankKey(int value, int strength, int group)
+  {
+    return (long)value << 40 | (long)Math.min(strength, 0xFF) << 32 | (long)(Integer.MAX_VALUE - group);
+  }
+
+  private static void siftUp(long[] keys, ItemInfo[] items, int i)
+  {
+    while (i > 0)
+    {
+      int parent = (i - 1) / 2;
+      if (keys[parent] <= keys[i]) {
+        return;
+      }
+      swap(keys, items, parent, i);
+      i = parent;
+    }
+  }
+
+  private static void siftDown(long[] keys, ItemInfo[] items, int i, int size)
+  {
+    while (true)
+    {
+      int smallest = i;
+      int left = 2 * i + 1;
+      int right = left + 1;
+      if ((left < size) && (keys[left] < keys[smallest])) {
+        smallest = left;
+      }
+      if ((right < size) && (keys[right] < keys[smallest])) {
+        smallest = right;
+      }
+      if (smallest == i) {
+        return;
+      }
+      swap(keys, items, smallest, i);
+      i = smallest;
+    }
+  }
+
+  private static void swap(long[] keys, ItemInfo[] items, int a, int b)
+  {
+    long key = keys[a];
+    keys[a] = keys[b];
+    keys[b] = key;
+    ItemInfo item = items[a];
+    items[a] = items[b];
+    items[b] = item;
+  }
+
+  /**
+   * Marks the fragments present in the query and returns the groups posted
+   * under them, sorted into catalog order. A group using several of the
+   * fragments appears once per fragment.
+   */
+  private int[] candidates(String searchString, boolean[] present)
+  {
+    if (this.matcher.match(searchString.toLowerCase(), present) == 0) {
+      return new int[0];
+    }
+    int candidateCount = 0;
+    for (int f = 0; f < present.length; f++) {
+      if (present[f]) {
+        candidateCount += this.postings[f].length;
+      }
+    }
+    int[] candidates = new int[candidateCount];
+    int n = 0;
+    for (int f = 0; f < present.length; f++) {
+      if (present[f])
+      {
+        System.arraycopy(this.postings[f], 0, candidates, n, this.postings[f].length);
+        n += this.postings[f].length;
+      }
+    }
+    Arrays.sort(candidates);
+    return candidates;
+  }
+}
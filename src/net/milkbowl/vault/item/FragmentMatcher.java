@@ -0,0 +1,179 @@
+package net.milkbowl.vault.item;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Aho-Corasick automaton over a fixed set of search fragments. A single pass
+ * over the query reports every fragment that occurs anywhere in it, so the
+ * cost of a lookup depends on the length of the query rather than on the size
+ * of the catalog.
+ */
+final class FragmentMatcher
+{
+  private final int fragmentCount;
+  private final char[][] keys;
+  private final int[][] targets;
+  private final int[] fail;
+  private final int[] output;
+  private final int[] dictionary;
+
+  FragmentMatcher(String[] fragments)
+  {
+    this.fragmentCount = fragments.length;
+
+    // Build the trie with growable per-node edge lists
+    List<StringBuilder> edgeKeys = new ArrayList<StringBuilder>();
+    List<List<Integer>> edgeTargets = new ArrayList<List<Integer>>();
+    List<Integer> outputs = new ArrayList<Integer>();
+    edgeKeys.add(new StringBuilder());
+    edgeTargets.add(new ArrayList<Integer>());
+    outputs.add(Integer.valueOf(-1));
+    for (int f = 0; f < fragments.length; f++)
+    {
+      int node = 0;
+      String fragment = fragments[f];
+      for (int i = 0; i < fragment.length(); i++)
+      {
+        char c = fragment.charAt(i);
+        int edge = indexOf(edgeKeys.get(node), c);
+        if (edge < 0)
+        {
+          int next = edgeKeys.size();
+          edgeKeys.add(new StringBuilder());
+          edgeTargets.add(new ArrayList<Integer>());
+          outputs.add(Integer.valueOf(-1));
+          edgeKeys.get(node).append(c);
+          edgeTargets.get(node).add(Integer.valueOf(next));
+          node = next;
+        }
+        else
+        {
+          node = edgeTargets.get(node).get(edge).intValue();
+        }
+      }
+      outputs.set(node, Integer.valueOf(f));
+    }
+
+    // Freeze the edges into sorted arrays for binary search
+    int nodes = edgeKeys.size();
+    this.keys = new char[nodes][];
+    this.targets = new int[nodes][];
+    this.output = new int[nodes];
+    for (int n = 0; n < nodes; n++)
+    {
+      char[] k = edgeKeys.get(n).toString().toCharArray();
+      int[] t = new int[k.length];
+      for (int i = 0; i < k.length; i++)
+      {
+        t[i] = edgeTargets.get(n).get(i).intValue();
+        // Insertion sort, nodes rarely have more than a handful of edges
+        for (int j = i; (j > 0) && (k[j - 1] > k[j]); j--)
+        {
+          char key = k[j];
+          k[j] = k[j - 1];
+          k[j - 1] = key;
+          int target = t[j];
+          t[j] = t[j - 1];
+          t[j - 1] = target;
+        }
+      }
+      this.keys[n] = k;
+      this.targets[n] = t;
+      this.output[n] = outputs.get(n).intValue();
+    }
+
+    // Breadth-first pass to compute failure and dictionary suffix links
+    this.fail = new int[nodes];
+    this.dictionary = new int[nodes];
+    Arrays.fill(this.dictionary, -1);
+    int[] queue = new int[nodes];
+    int head = 0;
+    int tail = 0;
+    for (int child : this.targets[0])
+    {
+      this.fail[child] = 0;
+      queue[tail++] = child;
+    }
+    while (head < tail)
+    {
+      int node = queue[head++];
+      for (int i = 0; i < this.keys[node].length; i++)
+      {
+        char c = this.keys[node][i];
+        int child = this.targets[node][i];
+        int f = this.fail[node];
+        int next = step(f, c);
+        while ((next < 0) && (f != 0))
+        {
+          f = this.fail[f];
+          next = step(f, c);
+        }
+        this.fail[child] = next < 0 ? 0 : next;
+        int suffix = this.fail[child];
+        this.dictionary[child] = this.output[suffix] >= 0 ? suffix : this.dictionary[suffix];
+        queue[tail++] = child;
+      }
+    }
+  }
+
+  int fragmentCount()
+  {
+    return this.fragmentCount;
+  }
+
+  /**
+   * Marks every fragment that occurs in the text.
+   *
+   * @param text already lowercased query
+   * @param hits array of at least fragmentCount() entries to mark
+   * @return number of distinct fragments found
+   */
+  int match(String text, boolean[] hits)
+  {
+    int found = 0;
+    int node = 0;
+    // An empty fragment occurs in every query
+    if ((this.output[0] >= 0) && (!hits[this.output[0]]))
+    {
+      hits[this.output[0]] = true;
+      found++;
+    }
+    for (int i = 0; i < text.length(); i++)
+    {
+      char c = text.charAt(i);
+      int next = step(node, c);
+      while ((next < 0) && (node != 0))
+      {
+        node = this.fail[node];
+        next = step(node, c);
+      }
+      node = next < 0 ? 0 : next;
+      for (int out = this.output[node] >= 0 ? node : this.dictionary[node]; out >= 0; out = this.dictionary[out]) {
+        if (!hits[this.output[out]])
+        {
+          hits[this.output[out]] = true;
+          found++;
+        }
+      }
+    }
+    return found;
+  }
+
+  private static int indexOf(StringBuilder edges, char c)
+  {
+    for (int i = 0; i < edges.length(); i++) {
+      if (edges.charAt(i) == c) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  private int step(int node, char c)
+  {
+    int edge = Arrays.binarySearch(this.keys[node], c);
+    return edge < 0 ? -1 : this.targets[node][edge];
+  }
+}
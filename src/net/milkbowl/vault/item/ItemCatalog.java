@@ -0,0 +1,246 @@
+package net.milkbowl.vault.item;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Logger;
+import org.bukkit.Material;
+
+/**
+ * Reads and writes the compact binary item catalog.
+ * <p>
+ * Layout, with every number a {@link VarInts varint}:
+ * <pre>
+ * magic "VITM" (4 bytes), format version
+ * string count, then per string: UTF-8 byte length, bytes
+ * item count, then per item:
+ *   name string, material name string, subtype (unsigned 16 bit),
+ *   group count, then per group: fragment count, fragment strings
+ * </pre>
+ * Strings are stored once and referenced by their position in the table.
+ * Items whose material does not exist on the running server are skipped.
+ */
+public final class ItemCatalog
+{
+  private static final Logger log = Logger.getLogger("Minecraft");
+  private static final Charset UTF_8 = Charset.forName("UTF-8");
+  private static final int MAGIC = 0x5649544D;
+  private static final int VERSION = 1;
+
+  /** Name of the catalog bundled in the Vault jar and read from its data folder */
+  public static final String FILE_NAME = "items.dat";
+
+  private ItemCatalog()
+  {
+  }
+
+  /**
+   * Memory-maps a catalog file and decodes it.
+   * @param file catalog file
+   * @return items in catalog order
+   * @throws IOException if the file cannot be read or is not a valid catalog
+   */
+  public static List<ItemInfo> load(File file) throws IOException
+  {
+    RandomAccessFile raf = new RandomAccessFile(file, "r");
+    try
+    {
+      FileChannel channel = raf.getChannel();
+      return read(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+    }
+    finally
+    {
+      raf.close();
+    }
+  }
+
+  /**
+   * Decodes the catalog bundled with Vault.
+   * @return items in catalog order
+   * @throws IOException if the bundled catalog is missing or corrupt
+   */
+  public static List<ItemInfo> loadDefault() throws IOException
+  {
+    InputStream in = ItemCatalog.class.getResourceAsStream("/" + FILE_NAME);
+    if (in == null) {
+      throw new IOException("Missing bundled item catalog " + FILE_NAME);
+    }
+    try
+    {
+      ByteArrayOutputStream bytes = new ByteArrayOutputStream(16384);
+      byte[] chunk = new byte[4096];
+      int read;
+      while ((read = in.read(chunk)) > 0) {
+        bytes.write(chunk, 0, read);
+      }
+      return read(ByteBuffer.wrap(bytes.toByteArray()));
+    }
+    finally
+    {
+      in.close();
+    }
+  }
+
+  /**
+   * Decodes a catalog from a buffer, starting at its current position.
+   * @param buffer catalog bytes
+   * @return items in catalog order
+   * @throws IOException if the buffer does not hold a valid catalog
+   */
+  public static List<ItemInfo> read(ByteBuffer buffer) throws IOException
+  {
+    try
+    {
+      if (buffer.getInt() != MAGIC) {
+        throw new IOException("Not an item catalog");
+      }
+      int version = VarInts.read(buffer);
+      if (version != VERSION) {
+        throw new IOException("Unsupported item catalog version " + version);
+      }
+
+      String[] strings = new String[readCount(buffer)];
+      byte[] scratch = new byte[64];
+      for (int i = 0; i < strings.length; i++)
+      {
+        int length = readCount(buffer);
+        if (scratch.length < length) {
+          scratch = new byte[length];
+        }
+        buffer.get(scratch, 0, length);
+        strings[i] = new String(scratch, 0, length, UTF_8);
+      }
+
+      // Materials are resolved once per distinct name, not once per item
+      Material[] materials = new Material[strings.length];
+      boolean[] resolved = new boolean[strings.length];
+      int itemCount = readCount(buffer);
+      List<ItemInfo> items = new ArrayList<ItemInfo>(itemCount);
+      int skipped = 0;
+      for (int i = 0; i < itemCount; i++)
+      {
+        String name = strings[VarInts.read(buffer)];
+        int materialName = VarInts.read(buffer);
+        short subTypeId = (short)VarInts.read(buffer);
+        String[][] search = new String[readCount(buffer)][];
+        for (int g = 0; g < search.length; g++)
+        {
+          search[g] = new String[readCount(buffer)];
+          for (int f = 0; f < search[g].length; f++) {
+            search[g][f] = strings[VarInts.read(buffer)];
+          }
+        }
+        if (!resolved[materialName])
+        {
+          materials[materialName] = Material.getMaterial(strings[materialName]);
+          resolved[materialName] = true;
+        }
+        if (materials[materialName] == null)
+        {
+          skipped++;
+          continue;
+        }
+        items.add(new ItemInfo(name, search, materials[materialName], subTypeId));
+      }
+      if (skipped > 0) {
+        log.warning(String.format("[Vault] Skipped %d catalog items with materials unknown to this server.", Integer.valueOf(skipped)));
+      }
+      return items;
+    }
+    catch (BufferUnderflowException e)
+    {
+      throw new IOException("Truncated item catalog", e);
+    }
+    catch (RuntimeException e)
+    {
+      // A bad index or count from a damaged or hand-edited file
+      throw new IOException("Corrupt item catalog", e);
+    }
+  }
+
+  /**
+   * Reads a count or byte length. Every counted entry takes at least one
+   * byte, so a valid count never exceeds what is left in the buffer.
+   */
+  private static int readCount(ByteBuffer buffer) throws IOException
+  {
+    int count = VarInts.read(buffer);
+    if ((count < 0) || (count > buffer.remaining())) {
+      throw new IOException("Corrupt item catalog");
+    }
+    return count;
+  }
+
+  /**
+   * Encodes items into the catalog format, for shipping an updated catalog.
+   * @param items items in catalog order
+   * @param out stream to write to, left open
+   * @throws IOException if writing fails
+   */
+  public static void write(Collection<ItemInfo> items, OutputStream out) throws IOException
+  {
+    Map<String, Integer> ids = new HashMap<String, Integer>();
+    List<String> strings = new ArrayList<String>();
+    for (ItemInfo item : items)
+    {
+      intern(item.name, ids, strings);
+      intern(item.material.name(), ids, strings);
+      for (String[] attributes : item.search) {
+        for (String attribute : attributes) {
+          intern(attribute, ids, strings);
+        }
+      }
+    }
+
+    ByteArrayOutputStream body = new ByteArrayOutputStream(16384);
+    body.write(MAGIC >>> 24);
+    body.write(MAGIC >>> 16 & 0xFF);
+    body.write(MAGIC >>> 8 & 0xFF);
+    body.write(MAGIC & 0xFF);
+    VarInts.write(body, VERSION);
+    VarInts.write(body, strings.size());
+    for (String string : strings)
+    {
+      byte[] bytes = string.getBytes(UTF_8);
+      VarInts.write(body, bytes.length);
+      body.write(bytes);
+    }
+    VarInts.write(body, items.size());
+    for (ItemInfo item : items)
+    {
+      VarInts.write(body, ids.get(item.name).intValue());
+      VarInts.write(body, ids.get(item.material.name()).intValue());
+      VarInts.write(body, item.subTypeId & 0xFFFF);
+      VarInts.write(body, item.search.length);
+      for (String[] attributes : item.search)
+      {
+        VarInts.write(body, attributes.length);
+        for (String attribute : attributes) {
+          VarInts.write(body, ids.get(attribute).intValue());
+        }
+      }
+    }
+    body.writeTo(out);
+  }
+
+  private static void intern(String string, Map<String, Integer> ids, List<String> strings)
+  {
+    if (!ids.containsKey(string))
+    {
+      ids.put(string, Integer.valueOf(strings.size()));
+      strings.add(string);
+    }
+  }
+}
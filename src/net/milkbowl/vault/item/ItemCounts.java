@@ -0,0 +1,127 @@
+package net.milkbowl.vault.item;
+
+import java.util.Arrays;
+
+/**
+ * Reusable tally of item amounts, filled by Items.countItems. Entries keep
+ * the order in which their items were first seen. Clearing only resets the
+ * slots that were used, so one instance can be kept per command or shop and
+ * reused for every inventory scan without allocating.
+ */
+public class ItemCounts
+{
+  private ItemInfo[] items = new ItemInfo[16];
+  private int[] amounts = new int[16];
+  private int size = 0;
+  private int unmatched = 0;
+
+  // Open-addressing table from item keys to entry positions, plus one
+  private int[] tableKeys = new int[64];
+  private int[] tableSlots = new int[64];
+
+  public void clear()
+  {
+    // Newest first: a probe sequence only ever runs through slots taken by
+    // older entries, so each lookup still finds its slot
+    for (int i = this.size - 1; i >= 0; i--)
+    {
+      this.tableSlots[find(this.items[i].hashCode())] = 0;
+      this.items[i] = null;
+    }
+    this.size = 0;
+    this.unmatched = 0;
+  }
+
+  /**
+   * @return number of distinct items counted
+   */
+  public int size()
+  {
+    return this.size;
+  }
+
+  public ItemInfo getItem(int index)
+  {
+    if (index >= this.size) {
+      throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + this.size);
+    }
+    return this.items[index];
+  }
+
+  public int getAmount(int index)
+  {
+    if (index >= this.size) {
+      throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + this.size);
+    }
+    return this.amounts[index];
+  }
+
+  /**
+   * @return total amount counted for the item, or 0 if it was not seen
+   */
+  public int getAmount(ItemInfo item)
+  {
+    int slot = this.tableSlots[find(item.hashCode())];
+    return slot == 0 ? 0 : this.amounts[slot - 1];
+  }
+
+  /**
+   * @return total amount in stacks that matched no catalog item
+   */
+  public int getUnmatched()
+  {
+    return this.unmatched;
+  }
+
+  void add(ItemInfo item, int amount)
+  {
+    int key = item.hashCode();
+    int t = find(key);
+    if (this.tableSlots[t] != 0)
+    {
+      this.amounts[this.tableSlots[t] - 1] += amount;
+      return;
+    }
+    if (this.size == this.items.length)
+    {
+      this.items = Arrays.copyOf(this.items, this.size * 2);
+      this.amounts = Arrays.copyOf(this.amounts, this.size * 2);
+    }
+    this.items[this.size] = item;
+    this.amounts[this.size] = amount;
+    this.size++;
+    this.tableKeys[t] = key;
+    this.tableSlots[t] = this.size;
+    if (this.size * 2 > this.tableKeys.length) {
+      rehash();
+    }
+  }
+
+  void addUnmatched(int amount)
+  {
+    this.unmatched += amount;
+  }
+
+  private int find(int key)
+  {
+    int mask = this.tableKeys.length - 1;
+    int h = key * 0x9E3779B9;
+    int t = (h ^ h >>> 16) & mask;
+    while ((this.tableSlots[t] != 0) && (this.tableKeys[t] != key)) {
+      t = t + 1 & mask;
+    }
+    return t;
+  }
+
+  private void rehash()
+  {
+    this.tableKeys = new int[this.tableKeys.length * 2];
+    this.tableSlots = new int[this.tableSlots.length * 2];
+    for (int i = 0; i < this.size; i++)
+    {
+      int t = find(this.items[i].hashCode());
+      this.tableKeys[t] = this.items[i].hashCode();
+      this.tableSlots[t] = i + 1;
+    }
+  }
+}
@@ -0,0 +1,251 @@
+package net.milkbowl.vault.item;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import org.bukkit.Material;
+import org.bukkit.inventory.ItemStack;
+
+/**
+ * Lookup tables over the item catalog. Never modified once built, so it can
+ * be read from any thread; registering items or aliases produces a new index
+ * that shares every table the change does not touch.
+ */
+final class ItemIndex
+{
+  private static final int MAX_CORRECTED_WORDS = 6;
+  private static final int MAX_CORRECTION_VISITS = 1000;
+
+  private final ItemKeyMap byKey;
+  private final ItemInfo[] firstByType;
+  private final List<ItemInfo> items;
+  private final FragmentIndex names;
+  private final LegacyIdTable legacyIds;
+  private final BkTree vocabulary;
+  private final NameCompleter completer;
+
+  ItemIndex(List<ItemInfo> items)
+  {
+    this.items = Collections.unmodifiableList(new ArrayList<ItemInfo>(items));
+
+    // The tables are independent, so the expensive ones are built on the
+    // common pool while this thread fills in the cheap ones
+    final List<ItemInfo> catalog = this.items;
+    ForkJoinTask<FragmentIndex> names = ForkJoinPool.commonPool().submit(new Callable<FragmentIndex>() {
+      public FragmentIndex call()
+      {
+        return new FragmentIndex(catalog);
+      }
+    });
+    ForkJoinTask<BkTree> vocabulary = ForkJoinPool.commonPool().submit(new Callable<BkTree>() {
+      public BkTree call()
+      {
+        return addWords(new BkTree(), catalog, Collections.<String>emptySet());
+      }
+    });
+    ForkJoinTask<LegacyIdTable> legacyIds = ForkJoinPool.commonPool().submit(new Callable<LegacyIdTable>() {
+      public LegacyIdTable call()
+      {
+        return new LegacyIdTable(catalog);
+      }
+    });
+
+    this.byKey = new ItemKeyMap(catalog.size());
+    this.firstByType = new ItemInfo[Material.values().length];
+    List<String> itemNames = new ArrayList<String>(catalog.size());
+    for (ItemInfo item : catalog)
+    {
+      itemNames.add(item.getName());
+      addType(item, this.byKey, this.firstByType);
+    }
+
+    this.completer = new NameCompleter(itemNames);
+
+    this.names = names.join();
+    this.legacyIds = legacyIds.join();
+    this.vocabulary = vocabulary.join();
+  }
+
+  private ItemIndex(List<ItemInfo> items, ItemKeyMap byKey, ItemInfo[] firstByType, FragmentIndex names, LegacyIdTable legacyIds, BkTree vocabulary, NameCompleter completer)
+  {
+    this.items = items;
+    this.byKey = byKey;
+    this.firstByType = firstByType;
+    this.names = names;
+    this.legacyIds = legacyIds;
+    this.vocabulary = vocabulary;
+    this.completer = completer;
+  }
+
+  /**
+   * Builds the next snapshot by extending each table with just the added
+   * entries. Added items rank after the existing catalog on ties and never
+   * replace an existing entry for the same material and subtype.
+   * @param added extra items, appended to the catalog
+   * @param aliases extra names, each searched as the words of the alias
+   */
+  ItemIndex plus(List<ItemInfo> added, Map<String, ItemInfo> aliases)
+  {
+    if ((added.isEmpty()) && (aliases.isEmpty())) {
+      return this;
+    }
+    List<ItemInfo> items = this.items;
+    ItemKeyMap byKey = this.byKey;
+    ItemInfo[] firstByType = this.firstByType;
+    List<String> completions = new ArrayList<String>(aliases.keySet());
+    if (!added.isEmpty())
+    {
+      List<ItemInfo> copy = new ArrayList<ItemInfo>(this.items.size() + added.size());
+      copy.addAll(this.items);
+      copy.addAll(added);
+      items = Collections.unmodifiableList(copy);
+      byKey = this.byKey.copy(copy.size());
+      firstByType = this.firstByType.clone();
+      for (ItemInfo item : added)
+      {
+        completions.add(item.getName());
+        addType(item, byKey, firstByType);
+      }
+    }
+    return new ItemIndex(items, byKey, firstByType, this.names.plus(added, aliases), this.legacyIds.plus(added),
+      addWords(this.vocabulary, added, aliases.keySet()), this.completer.plus(completions));
+  }
+
+  private static void addType(ItemInfo item, ItemKeyMap byKey, ItemInfo[] firstByType)
+  {
+    int ordinal = item.getType().ordinal();
+    if (firstByType[ordinal] == null) {
+      firstByType[ordinal] = item;
+    }
+    // The catalog is searched front to back, so the first entry wins
+    byKey.putIfAbsent(ItemKeyMap.key(ordinal, item.getSubTypeId()), item);
+  }
+
+  /**
+   * Adds every word of every item name, then every search fragment, then
+   * every alias word, lowercased.
+   */
+  private static BkTree addWords(BkTree tree, List<ItemInfo> items, Collection<String> aliases)
+  {
+    for (ItemInfo item : items) {
+      for (String word : item.getName().toLowerCase().split("[^\\p{L}\\p{N}]+")) {
+        tree = tree.add(word);
+      }
+    }
+    for (ItemInfo item : items) {
+      for (String[] attributes : item.search) {
+        for (String attribute : attributes) {
+          tree = tree.add(attribute);
+        }
+      }
+    }
+    for (String alias : aliases) {
+      for (String word : alias.toLowerCase().split("[^\\p{L}\\p{N}]+")) {
+        tree = tree.add(word);
+      }
+    }
+    return tree;
+  }
+
+  List<ItemInfo> items()
+  {
+    return this.items;
+  }
+
+  ItemInfo byType(Material type, short subType)
+  {
+    if (type == null) {
+      return null;
+    }
+    return this.byKey.get(ItemKeyMap.key(type.ordinal(), subType));
+  }
+
+  ItemInfo byKey(int key)
+  {
+    return this.byKey.get(key);
+  }
+
+  ItemInfo byStack(ItemStack itemStack)
+  {
+    int ordinal = itemStack.getType().ordinal();
+    ItemInfo first = this.firstByType[ordinal];
+    if (first == null) {
+      return null;
+    }
+    // Durable items match any damage value
+    if (first.isDurable()) {
+      return first;
+    }
+    return this.byKey.get(ItemKeyMap.key(ordinal, itemStack.getDurability()));
+  }
+
+  ItemInfo byName(String searchString)
+  {
+    return this.names.bestMatch(searchString);
+  }
+
+  /**
+   * Replaces each misspelled word of the query with the closest catalog word
+   * and searches again. The number of words, their length and the tree nodes
+   * visited per word are all capped, so the cost per query stays bounded.
+   * Gives up if any word is neither a catalog word nor close to one, since
+   * matching on the remaining words alone tends to find the wrong item.
+   */
+  ItemInfo byCorrectedName(String searchString)
+  {
+    String[] words = searchString.toLowerCase().split("[^\\p{L}\\p{N}]+", MAX_CORRECTED_WORDS + 1);
+    if (words.length > MAX_CORRECTED_WORDS) {
+      return null;
+    }
+    StringBuilder corrected = new StringBuilder(searchString.length() + 8);
+    boolean changed = false;
+    for (String word : words)
+    {
+      if (word.length() == 0) {
+        continue;
+      }
+      if (!this.vocabulary.contains(word))
+      {
+        // Short words get less slack, or everything would match them
+        String replacement = this.vocabulary.nearest(word, word.length() <= 4 ? 1 : 2, MAX_CORRECTION_VISITS);
+        if (replacement == null) {
+          return null;
+        }
+        word = replacement;
+        changed = true;
+      }
+      corrected.append(word).append(' ');
+    }
+    return changed ? this.names.bestMatch(corrected.toString()) : null;
+  }
+
+  ItemMatch[] topByName(String searchString, int limit)
+  {
+    return this.names.topMatches(searchString, limit);
+  }
+
+  List<ItemInfo> anyByName(String searchString)
+  {
+    return this.names.anyMatches(searchString);
+  }
+
+  int complete(String prefix, String[] completions)
+  {
+    return this.completer.complete(prefix, completions);
+  }
+
+  ItemInfo byLegacyId(int typeId, short subType)
+  {
+    return this.legacyIds.get(typeId, subType);
+  }
+
+  ItemInfo[] allByLegacyId(int typeId)
+  {
+    return this.legacyIds.getAll(typeId);
+  }
+}
@@ -1,5 +1,6 @@
 package net.milkbowl.vault.item;
 
+import java.nio.ByteBuffer;
 import org.bukkit.Material;
 import org.bukkit.inventory.ItemStack;
 
@@ -64,10 +65,7 @@ public class ItemInfo
   
   public int hashCode()
   {
-    int hash = 7;
-    hash = 17 * hash + getId();
-    hash = 17 * hash + this.subTypeId;
-    return hash;
+    return ItemKeyMap.key(this.material.ordinal(), this.subTypeId);
   }
   
   public boolean isDurable()
@@ -80,6 +78,34 @@ public class ItemInfo
     return new ItemStack(this.material, 1, this.subTypeId);
   }
   
+  /**
+   * Size of the compact reference written by encode, at most 6 bytes.
+   */
+  @SuppressWarnings("deprecation")
+  public int getEncodedSize()
+  {
+    return VarInts.size(this.material.getId() + 1) + VarInts.size(this.subTypeId & 0xFFFF);
+  }
+  
+  /**
+   * Writes a compact reference to this item: the legacy id plus one and the
+   * subtype, both as varints. Ids are stable across server restarts, unlike
+   * material ordinals. Read it back with Items.decodeItem.
+   */
+  @SuppressWarnings("deprecation")
+  public void encode(ByteBuffer buffer)
+  {
+    VarInts.write(buffer, this.material.getId() + 1);
+    VarInts.write(buffer, this.subTypeId & 0xFFFF);
+  }
+  
+  public byte[] encode()
+  {
+    ByteBuffer buffer = ByteBuffer.allocate(getEncodedSize());
+    encode(buffer);
+    return buffer.array();
+  }
+  
   public String toString()
   {
     return String.format("%s[%d:%d]", new Object[] { this.name, Integer.valueOf(this.material.getId()), Short.valueOf(this.subTypeId) });
@@ -0,0 +1,88 @@
+package net.milkbowl.vault.item;
+
+/**
+ * Open-addressing hash map from packed item keys to catalog entries. Keys are
+ * plain ints and collisions are resolved by linear probing, so a lookup never
+ * boxes, allocates or calls equals().
+ */
+final class ItemKeyMap
+{
+  private final int[] keys;
+  private final ItemInfo[] values;
+  private final int mask;
+
+  ItemKeyMap(int expectedSize)
+  {
+    // Keep the table at most half full so probe sequences stay short
+    int capacity = 16;
+    while (capacity < expectedSize * 2) {
+      capacity <<= 1;
+    }
+    this.keys = new int[capacity];
+    this.values = new ItemInfo[capacity];
+    this.mask = capacity - 1;
+  }
+
+  /**
+   * @return a copy with room for expectedSize entries, for building the
+   *         next catalog snapshot without touching this one
+   */
+  ItemKeyMap copy(int expectedSize)
+  {
+    ItemKeyMap copy = new ItemKeyMap(expectedSize);
+    for (int i = 0; i < this.values.length; i++) {
+      if (this.values[i] != null) {
+        copy.putIfAbsent(this.keys[i], this.values[i]);
+      }
+    }
+    return copy;
+  }
+
+  /**
+   * Packs a material and subtype into a key. Material ordinals are only
+   * stable for the running server, so keys must never be persisted.
+   */
+  static int key(int ordinal, short subType)
+  {
+    return ordinal << 16 | subType & 0xFFFF;
+  }
+
+  private int slot(int key)
+  {
+    int h = key * 0x9E3779B9;
+    return (h ^ h >>> 16) & this.mask;
+  }
+
+  /**
+   * Adds an entry unless the key is already present.
+   * @return true if the entry was added
+   */
+  boolean putIfAbsent(int key, ItemInfo value)
+  {
+    int i = slot(key);
+    while (this.values[i] != null)
+    {
+      if (this.keys[i] == key) {
+        return false;
+      }
+      i = i + 1 & this.mask;
+    }
+    this.keys[i] = key;
+    this.values[i] = value;
+    return true;
+  }
+
+  ItemInfo get(int key)
+  {
+    int i = slot(key);
+    ItemInfo value;
+    while ((value = this.values[i]) != null)
+    {
+      if (this.keys[i] == key) {
+        return value;
+      }
+      i = i + 1 & this.mask;
+    }
+    return null;
+  }
+}
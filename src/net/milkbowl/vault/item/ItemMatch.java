@@ -0,0 +1,45 @@
+package net.milkbowl.vault.item;
+
+/**
+ * An item returned by a ranked search, with the score of the attribute group
+ * that matched it. Higher scores are better matches.
+ */
+public class ItemMatch
+{
+  public final ItemInfo item;
+  public final int score;
+  public final int strength;
+
+  public ItemMatch(ItemInfo item, int score, int strength)
+  {
+    this.item = item;
+    this.score = score;
+    this.strength = strength;
+  }
+
+  public ItemInfo getItem()
+  {
+    return this.item;
+  }
+
+  /**
+   * @return total length of the search fragments the query matched
+   */
+  public int getScore()
+  {
+    return this.score;
+  }
+
+  /**
+   * @return number of search fragments in the matching attribute group
+   */
+  public int getStrength()
+  {
+    return this.strength;
+  }
+
+  public String toString()
+  {
+    return String.format("%s(%d/%d)", new Object[] { this.item, Integer.valueOf(this.score), Integer.valueOf(this.strength) });
+  }
+}
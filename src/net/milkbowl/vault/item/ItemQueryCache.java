@@ -0,0 +1,92 @@
+package net.milkbowl.vault.item;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bounded least-recently-used cache of item name lookups, keyed by the
+ * lowercased query. Queries that matched nothing are cached too, so repeated
+ * junk input is as cheap as a hit. All access is synchronized, so it can be
+ * shared by the main thread and async chat threads.
+ * <p>
+ * Every clear starts a new generation. A lookup remembers the generation it
+ * started in, and its result is dropped if the cache was cleared meanwhile,
+ * so a result computed against a replaced catalog can never be cached.
+ */
+public class ItemQueryCache
+{
+  static final Object NO_ITEM = new Object();
+
+  private final int maxSize;
+  private final Map<String, Object> entries;
+  private long generation = 0;
+  private long hits = 0;
+  private long misses = 0;
+
+  ItemQueryCache(final int maxSize)
+  {
+    this.maxSize = maxSize;
+    this.entries = new LinkedHashMap<String, Object>(16, 0.75F, true)
+    {
+      private static final long serialVersionUID = 1L;
+
+      protected boolean removeEldestEntry(Map.Entry<String, Object> eldest)
+      {
+        return size() > maxSize;
+      }
+    };
+  }
+
+  /**
+   * @return the cached ItemInfo, NO_ITEM for a cached miss, or null if the
+   *         query has not been cached
+   */
+  synchronized Object get(String key)
+  {
+    Object cached = this.entries.get(key);
+    if (cached == null) {
+      this.misses++;
+    } else {
+      this.hits++;
+    }
+    return cached;
+  }
+
+  synchronized long generation()
+  {
+    return this.generation;
+  }
+
+  synchronized void put(String key, ItemInfo item, long generation)
+  {
+    if (generation == this.generation) {
+      this.entries.put(key, item == null ? NO_ITEM : item);
+    }
+  }
+
+  public synchronized void clear()
+  {
+    this.entries.clear();
+    this.generation++;
+  }
+
+  public synchronized int size()
+  {
+    return this.entries.size();
+  }
+
+  public int getMaxSize()
+  {
+    return this.maxSize;
+  }
+
+  public synchronized long getHits()
+  {
+    return this.hits;
+  }
+
+  public synchronized long getMisses()
+  {
+    return this.misses;
+  }
+}
@@ -0,0 +1,71 @@
+package net.milkbowl.vault.item;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Result of Items.itemsByStrings: the item each input resolved to, in input
+ * order, with the inputs that matched nothing reported alongside.
+ */
+public class ItemResolution
+{
+  private final String[] inputs;
+  private final ItemInfo[] items;
+  private final int failureCount;
+
+  ItemResolution(String[] inputs, ItemInfo[] items)
+  {
+    this.inputs = inputs;
+    this.items = items;
+    int failures = 0;
+    for (ItemInfo item : items) {
+      if (item == null) {
+        failures++;
+      }
+    }
+    this.failureCount = failures;
+  }
+
+  public int size()
+  {
+    return this.items.length;
+  }
+
+  public String getInput(int index)
+  {
+    return this.inputs[index];
+  }
+
+  /**
+   * @return the item the input at index resolved to, or null if it failed
+   */
+  public ItemInfo getItem(int index)
+  {
+    return this.items[index];
+  }
+
+  public boolean isResolved(int index)
+  {
+    return this.items[index] != null;
+  }
+
+  public int getFailureCount()
+  {
+    return this.failureCount;
+  }
+
+  /**
+   * @return positions of the inputs that were null or matched no item, in
+   *         input order
+   */
+  public List<Integer> getFailures()
+  {
+    List<Integer> failures = new ArrayList<Integer>(this.failureCount);
+    for (int i = 0; i < this.items.length; i++) {
+      if (this.items[i] == null) {
+        failures.add(Integer.valueOf(i));
+      }
+    }
+    return failures;
+  }
+}
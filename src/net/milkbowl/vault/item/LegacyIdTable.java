@@ -0,0 +1,111 @@
+package net.milkbowl.vault.item;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Direct lookup table on legacy numeric item ids. Each id owns one row of
+ * items sorted by subtype, so a lookup is an array index plus a binary search
+ * over the handful of subtypes the id has.
+ */
+@SuppressWarnings("deprecation")
+final class LegacyIdTable
+{
+  private final ItemInfo[][] items;
+  private final short[][] subTypes;
+
+  LegacyIdTable(List<ItemInfo> catalog)
+  {
+    this(new ItemInfo[0][], new short[0][], catalog);
+  }
+
+  /**
+   * Copies the base rows and re-sorts only the rows of ids the added items
+   * use. Existing entries come first, so they keep winning their subtypes.
+   */
+  private LegacyIdTable(ItemInfo[][] baseItems, short[][] baseSubTypes, List<ItemInfo> added)
+  {
+    int maxId = baseItems.length - 1;
+    for (ItemInfo item : added) {
+      maxId = Math.max(maxId, item.getId());
+    }
+    List<List<ItemInfo>> rows = new ArrayList<List<ItemInfo>>(maxId + 1);
+    for (int id = 0; id <= maxId; id++) {
+      rows.add(null);
+    }
+    for (ItemInfo item : added)
+    {
+      if (item.getId() < 0) {
+        continue;
+      }
+      List<ItemInfo> row = rows.get(item.getId());
+      if (row == null)
+      {
+        row = new ArrayList<ItemInfo>();
+        if ((item.getId() < baseItems.length) && (baseItems[item.getId()] != null)) {
+          row.addAll(Arrays.asList(baseItems[item.getId()]));
+        }
+        rows.set(item.getId(), row);
+      }
+      row.add(item);
+    }
+
+    this.items = Arrays.copyOf(baseItems, maxId + 1);
+    this.subTypes = Arrays.copyOf(baseSubTypes, maxId + 1);
+    for (int id = 0; id <= maxId; id++)
+    {
+      List<ItemInfo> row = rows.get(id);
+      if (row == null) {
+        continue;
+      }
+      // Stable sort, so the first catalog entry for a subtype stays first
+      ItemInfo[] rowItems = row.toArray(new ItemInfo[row.size()]);
+      Arrays.sort(rowItems, new Comparator<ItemInfo>() {
+        public int compare(ItemInfo a, ItemInfo b)
+        {
+          return a.getSubTypeId() - b.getSubTypeId();
+        }
+      });
+      int unique = 0;
+      for (int i = 0; i < rowItems.length; i++) {
+        if ((unique == 0) || (rowItems[unique - 1].getSubTypeId() != rowItems[i].getSubTypeId())) {
+          rowItems[unique++] = rowItems[i];
+        }
+      }
+      rowItems = Arrays.copyOf(rowItems, unique);
+      short[] rowSubTypes = new short[unique];
+      for (int i = 0; i < unique; i++) {
+        rowSubTypes[i] = rowItems[i].getSubTypeId();
+      }
+      this.items[id] = rowItems;
+      this.subTypes[id] = rowSubTypes;
+    }
+  }
+
+  /**
+   * @return a table that also holds the added items
+   */
+  LegacyIdTable plus(List<ItemInfo> added)
+  {
+    return added.isEmpty() ? this : new LegacyIdTable(this.items, this.subTypes, added);
+  }
+
+  ItemInfo get(int typeId, short subType)
+  {
+    if ((typeId < 0) || (typeId >= this.items.length) || (this.items[typeId] == null)) {
+      return null;
+    }
+    int i = Arrays.binarySearch(this.subTypes[typeId], subType);
+    return i < 0 ? null : this.items[typeId][i];
+  }
+
+  ItemInfo[] getAll(int typeId)
+  {
+    if ((typeId < 0) || (typeId >= this.items.length) || (this.items[typeId] == null)) {
+      return new ItemInfo[0];
+    }
+    return this.items[typeId].clone();
+  }
+}
@@ -0,0 +1,105 @@
+package net.milkbowl.vault.item;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+
+/**
+ * Sorted array of item names for prefix completion. A lookup binary searches
+ * for the first name at or after the prefix and then walks forward while the
+ * names still start with it, writing straight into the caller's array.
+ */
+final class NameCompleter
+{
+  private final String[] keys;
+  private final String[] names;
+
+  NameCompleter(Collection<String> names)
+  {
+    this(new String[0], new String[0], names);
+  }
+
+  /**
+   * Sorts the added names and merges them into the already sorted base
+   * arrays, dropping duplicates.
+   */
+  private NameCompleter(String[] baseKeys, String[] baseNames, Collection<String> names)
+  {
+    String[][] entries = new String[names.size()][];
+    int n = 0;
+    for (String name : names) {
+      entries[n++] = new String[] { name.toLowerCase(), name };
+    }
+    Arrays.sort(entries, 0, n, new Comparator<String[]>() {
+      public int compare(String[] a, String[] b)
+      {
+        return NameCompleter.compare(a[0], a[1], b[0], b[1]);
+      }
+    });
+    String[] keys = new String[baseKeys.length + n];
+    String[] display = new String[keys.length];
+    int unique = 0;
+    int i = 0;
+    int j = 0;
+    while ((i < baseKeys.length) || (j < n))
+    {
+      String key;
+      String name;
+      if ((j == n) || ((i < baseKeys.length) && (compare(baseKeys[i], baseNames[i], entries[j][0], entries[j][1]) <= 0)))
+      {
+        key = baseKeys[i];
+        name = baseNames[i++];
+      }
+      else
+      {
+        key = entries[j][0];
+        name = entries[j++][1];
+      }
+      if ((unique == 0) || (!display[unique - 1].equals(name)))
+      {
+        keys[unique] = key;
+        display[unique] = name;
+        unique++;
+      }
+    }
+    this.keys = Arrays.copyOf(keys, unique);
+    this.names = Arrays.copyOf(display, unique);
+  }
+
+  private static int compare(String aKey, String aName, String bKey, String bName)
+  {
+    int c = aKey.compareTo(bKey);
+    return c != 0 ? c : aName.compareTo(bName);
+  }
+
+  /**
+   * @return a completer that also offers the added names
+   */
+  NameCompleter plus(Collection<String> names)
+  {
+    return names.isEmpty() ? this : new NameCompleter(this.keys, this.names, names);
+  }
+
+  /**
+   * Writes the names starting with the prefix, in alphabetical order, into
+   * completions until it is full.
+   * @return number of completions written
+   */
+  int complete(String prefix, String[] completions)
+  {
+    String key = prefix.toLowerCase();
+    int i = Arrays.binarySearch(this.keys, key);
+    if (i < 0) {
+      i = -i - 1;
+    }
+    // binarySearch may land on any of several equal keys
+    while ((i > 0) && (this.keys[i - 1].equals(key))) {
+      i--;
+    }
+    int n = 0;
+    while ((n < completions.length) && (i < this.keys.length) && (this.keys[i].startsWith(key))) {
+      completions[n++] = this.names[i++];
+    }
+    return n;
+  }
+}
@@ -0,0 +1,62 @@
+package net.milkbowl.vault.item;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+
+/**
+ * Unsigned LEB128 variable length integers: seven bits per byte, low bits
+ * first, with the high bit set on every byte but the last.
+ */
+final class VarInts
+{
+  private VarInts()
+  {
+  }
+
+  static int read(ByteBuffer buffer)
+  {
+    int value = 0;
+    for (int shift = 0; shift < 35; shift += 7)
+    {
+      byte b = buffer.get();
+      value |= (b & 0x7F) << shift;
+      if ((b & 0x80) == 0) {
+        return value;
+      }
+    }
+    throw new BufferUnderflowException();
+  }
+
+  static void write(ByteBuffer buffer, int value)
+  {
+    while ((value & ~0x7F) != 0)
+    {
+      buffer.put((byte)(value & 0x7F | 0x80));
+      value >>>= 7;
+    }
+    buffer.put((byte)value);
+  }
+
+  static void write(OutputStream out, int value) throws IOException
+  {
+    while ((value & ~0x7F) != 0)
+    {
+      out.write(value & 0x7F | 0x80);
+      value >>>= 7;
+    }
+    out.write(value);
+  }
+
+  static int size(int value)
+  {
+    int size = 1;
+    while ((value & ~0x7F) != 0)
+    {
+      size++;
+      value >>>= 7;
+    }
+    return size;
+  }
+}